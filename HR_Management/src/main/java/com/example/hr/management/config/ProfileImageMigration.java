@@ -0,0 +1,66 @@
+package com.example.hr.management.config;
+
+import com.example.hr.management.service.ProfileImageStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves legacy base64 images out of employees.profile_image into the image store,
+ * a small batch at a time, and nulls the old column as it goes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProfileImageMigration implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProfileImageStorageService profileImageStorageService;
+
+    @Override
+    public void run(String... args) {
+        Integer legacyColumn = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_name = 'employees' AND column_name = 'profile_image'",
+                Integer.class);
+        if (legacyColumn == null || legacyColumn == 0) {
+            return;
+        }
+
+        int migrated = 0;
+        long lastId = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, profile_image FROM employees " +
+                            "WHERE id > ? AND profile_image IS NOT NULL ORDER BY id LIMIT " + BATCH_SIZE,
+                    lastId);
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("id")).longValue();
+                lastId = id;
+                String hash = null;
+                try {
+                    hash = profileImageStorageService.storeBase64((String) row.get("profile_image"));
+                } catch (RuntimeException e) {
+                    log.warn("Dropping unreadable profile image for employee {}: {}", id, e.getMessage());
+                }
+                jdbcTemplate.update(
+                        "UPDATE employees SET profile_image_hash = ?, profile_image = NULL WHERE id = ?",
+                        hash, id);
+                migrated++;
+            }
+        }
+        if (migrated > 0) {
+            log.info("Migrated {} profile images to the image store", migrated);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.hr.management.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    @Value("${hr.query-count.max-per-request:20}")
+    private int maxStatements;
+
+    @Value("${hr.query-count.fail-on-exceed:false}")
+    private boolean failOnExceed;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        QueryCountInspector.begin(maxStatements, failOnExceed);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int count = QueryCountInspector.end();
+            if (count > maxStatements) {
+                log.warn("{} {} executed {} SQL statements (budget {})",
+                        request.getMethod(), request.getRequestURI(), count, maxStatements);
+            }
+        }
+    }
+}
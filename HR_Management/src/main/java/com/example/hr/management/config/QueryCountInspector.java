@@ -0,0 +1,43 @@
+package com.example.hr.management.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current request thread.
+ * Registered through hibernate.session_factory.statement_inspector and driven by {@link QueryCountFilter}.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<Budget> BUDGET = new ThreadLocal<>();
+
+    public static void begin(int maxStatements, boolean failOnExceed) {
+        BUDGET.set(new Budget(maxStatements, failOnExceed));
+    }
+
+    public static int end() {
+        Budget budget = BUDGET.get();
+        BUDGET.remove();
+        return budget != null ? budget.count : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Budget budget = BUDGET.get();
+        if (budget != null && ++budget.count > budget.maxStatements && budget.failOnExceed) {
+            throw new IllegalStateException("Query budget exceeded: more than " + budget.maxStatements
+                    + " SQL statements in one request (possible N+1). Last statement: " + sql);
+        }
+        return sql;
+    }
+
+    private static class Budget {
+        private final int maxStatements;
+        private final boolean failOnExceed;
+        private int count;
+
+        private Budget(int maxStatements, boolean failOnExceed) {
+            this.maxStatements = maxStatements;
+            this.failOnExceed = failOnExceed;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.hr.management.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Database objects that ddl-auto cannot express, created idempotently once Hibernate has updated
+ * the schema and before the web server starts.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class SchemaExtensions {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void apply() {
+        stampEmployeeUpdates();
+        indexDepartmentKeyset();
+    }
+
+    // Matches EmployeeRepository.findPageAfterDepartmentKey: the COALESCE key, live rows only
+    private void indexDepartmentKeyset() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_employees_department_keyset ON employees " +
+                "((COALESCE(department, '')), last_name, id) WHERE deleted_at IS NULL");
+    }
+
+    // The change feed needs updated_at on the database clock and no earlier than the writing
+    // transaction's start, whatever the application set; see EmployeeServiceImpl.getEmployeeChanges
+    private void stampEmployeeUpdates() {
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION employees_stamp_updated_at() RETURNS trigger " +
+                "LANGUAGE plpgsql AS $$ BEGIN NEW.updated_at := CAST(statement_timestamp() AS timestamp); " +
+                "RETURN NEW; END $$");
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_trigger " +
+                        "WHERE tgname = 'employees_stamp_updated_at' AND tgrelid = CAST('employees' AS regclass))",
+                Boolean.class);
+        if (!Boolean.TRUE.equals(exists)) {
+            jdbcTemplate.execute("CREATE TRIGGER employees_stamp_updated_at BEFORE INSERT OR UPDATE ON employees " +
+                    "FOR EACH ROW EXECUTE FUNCTION employees_stamp_updated_at()");
+            log.info("Created trigger employees_stamp_updated_at");
+        }
+    }
+}
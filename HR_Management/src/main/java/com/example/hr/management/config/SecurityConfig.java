@@ -1,5 +1,6 @@
 package com.example.hr.management.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -85,6 +86,10 @@ public class SecurityConfig {
 
                                 // ✅ Authorization Rules with Role-based Access
                                 .authorizeHttpRequests(auth -> auth
+                                                // Streamed responses complete on an async dispatch;
+                                                // the original request was already authorized
+                                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                                                 // Public endpoints - No authentication needed
                                                 .requestMatchers("/api/auth/**").permitAll()
                                                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/api-docs/**",
@@ -1,15 +1,37 @@
 package com.example.hr.management.controller;
 
+import com.example.hr.management.dto.AttendanceCloseoutResultDTO;
+import com.example.hr.management.dto.AttendanceEventDTO;
+import com.example.hr.management.dto.AttendanceHeatmapDTO;
+import com.example.hr.management.dto.AttendancePartitionDTO;
+import com.example.hr.management.dto.AttendanceReplayResultDTO;
 import com.example.hr.management.dto.AttendanceRequestDTO;
 import com.example.hr.management.dto.AttendanceResponseDTO;
 import com.example.hr.management.dto.AttendanceSummaryDTO;
+import com.example.hr.management.dto.BulkAttendanceResultDTO;
+import com.example.hr.management.exception.BadRequestException;
+import com.example.hr.management.service.AttendanceCloseoutService;
+import com.example.hr.management.service.AttendanceEventLog;
+import com.example.hr.management.service.AttendancePartitionService;
+import com.example.hr.management.service.AttendanceRollupService;
 import com.example.hr.management.service.AttendanceService;
+import com.example.hr.management.service.BulkAttendanceService;
+import com.example.hr.management.service.ExportService;
+import com.example.hr.management.service.IdempotencyService;
+import com.example.hr.management.service.ResourceVersionService;
+import com.example.hr.management.util.ETagUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -23,19 +45,29 @@ import java.util.Map;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final AttendanceRollupService attendanceRollupService;
+    private final BulkAttendanceService bulkAttendanceService;
+    private final AttendanceCloseoutService attendanceCloseoutService;
+    private final AttendancePartitionService attendancePartitionService;
+    private final ExportService exportService;
+    private final ResourceVersionService resourceVersionService;
+    private final IdempotencyService idempotencyService;
+    private final AttendanceEventLog attendanceEventLog;
 
     @PostMapping("/clock-in/{employeeId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
-    public ResponseEntity<AttendanceResponseDTO> clockIn(@PathVariable Long employeeId) {
-        AttendanceResponseDTO response = attendanceService.clockIn(employeeId);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    public ResponseEntity<AttendanceResponseDTO> clockIn(@PathVariable Long employeeId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "clock-in", employeeId,
+                () -> new ResponseEntity<>(attendanceService.clockIn(employeeId), HttpStatus.CREATED));
     }
 
     @PostMapping("/clock-out/{employeeId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
-    public ResponseEntity<AttendanceResponseDTO> clockOut(@PathVariable Long employeeId) {
-        AttendanceResponseDTO response = attendanceService.clockOut(employeeId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<AttendanceResponseDTO> clockOut(@PathVariable Long employeeId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "clock-out", employeeId,
+                () -> ResponseEntity.ok(attendanceService.clockOut(employeeId)));
     }
 
     @PostMapping("/mark")
@@ -45,6 +77,59 @@ public class AttendanceController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    // Records are validated one by one, so a bad record is reported instead of rejecting the batch
+    @PostMapping("/mark/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<BulkAttendanceResultDTO> markAttendanceBulk(
+            @RequestBody List<AttendanceRequestDTO> records) {
+        BulkAttendanceResultDTO result = bulkAttendanceService.markAttendance(records);
+        return ResponseEntity.ok(result);
+    }
+
+    // Manual re-run of the nightly close-out, e.g. after a scheduler outage
+    @PostMapping("/close-day")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AttendanceCloseoutResultDTO> closeDay(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        AttendanceCloseoutResultDTO result = attendanceCloseoutService.closeDay(date);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/partitions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AttendancePartitionDTO>> getPartitions() {
+        return ResponseEntity.ok(attendancePartitionService.listPartitions());
+    }
+
+    // Detached months become standalone attendance_archive_* tables, ready to dump and drop
+    @PostMapping("/partitions/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> archivePartitions(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth before) {
+        List<String> archived = attendancePartitionService.archivePartitionsBefore(before);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", archived.size() + " attendance partitions archived");
+        response.put("archived", archived);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/events")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<List<AttendanceEventDTO>> getAttendanceHistory(@RequestParam Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(attendanceEventLog.getHistory(employeeId, date));
+    }
+
+    // Rebuilds attendance rows and rollups for the months from the event log
+    @PostMapping("/events/replay")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AttendanceReplayResultDTO> replayAttendance(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return ResponseEntity.ok(attendanceEventLog.replay(from, to));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     public ResponseEntity<AttendanceResponseDTO> updateAttendance(
@@ -56,9 +141,13 @@ public class AttendanceController {
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER', 'EMPLOYEE')")
-    public ResponseEntity<AttendanceResponseDTO> getAttendanceById(@PathVariable Long id) {
+    public ResponseEntity<AttendanceResponseDTO> getAttendanceById(@PathVariable Long id, WebRequest request) {
+        String eTag = resourceVersionService.attendanceETag(id);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         AttendanceResponseDTO response = attendanceService.getAttendanceById(id);
-        return ResponseEntity.ok(response);
+        return ETagUtil.ok(response, eTag);
     }
 
     @GetMapping("/today/{employeeId}")
@@ -80,30 +169,69 @@ public class AttendanceController {
 
     @GetMapping("/employee/{employeeId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER', 'EMPLOYEE')")
-    public ResponseEntity<List<AttendanceResponseDTO>> getEmployeeAttendance(@PathVariable Long employeeId) {
+    public ResponseEntity<List<AttendanceResponseDTO>> getEmployeeAttendance(@PathVariable Long employeeId,
+            WebRequest request) {
+        String eTag = resourceVersionService.employeeAttendanceETag(employeeId);
+        if (request.checkNotModified(eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         List<AttendanceResponseDTO> response = attendanceService.getEmployeeAttendance(employeeId);
-        return ResponseEntity.ok(response);
+        return ETagUtil.ok(response, eTag);
+    }
+
+    // Replaces polling /date/{date}: one snapshot on connect, then only deltas
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    public SseEmitter streamLiveBoard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return attendanceService.subscribeLiveBoard(date != null ? date : LocalDate.now());
     }
 
     @GetMapping("/date/{date}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
-    public ResponseEntity<?> getAttendanceByDate(@PathVariable LocalDate date) {
+    public ResponseEntity<?> getAttendanceByDate(@PathVariable LocalDate date, WebRequest request) {
         try {
+            String eTag = resourceVersionService.attendanceByDateETag(date);
+            if (request.checkNotModified(eTag)) {
+                return ETagUtil.notModified(eTag);
+            }
             List<AttendanceResponseDTO> attendanceList = attendanceService.getAttendanceByDate(date);
-            return ResponseEntity
-                    .ok(new ApiResponse<>(true, "Attendance records retrieved successfully", attendanceList));
+            return ETagUtil.ok(new ApiResponse<>(true, "Attendance records retrieved successfully", attendanceList),
+                    eTag);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse<>(false, "Error retrieving attendance: " + e.getMessage(), null));
         }
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format) {
+        boolean ndjson = ExportService.FORMAT_NDJSON.equalsIgnoreCase(format);
+        if (!ndjson && !ExportService.FORMAT_CSV.equalsIgnoreCase(format)) {
+            throw new BadRequestException("Unsupported export format: " + format);
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("From date cannot be after to date");
+        }
+        StreamingResponseBody body = outputStream -> exportService.exportAttendance(from, to, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ndjson ? "application/x-ndjson" : "text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=attendance-" + from + "-" + to + (ndjson ? ".ndjson" : ".csv"))
+                .body(body);
+    }
+
     @GetMapping("/employee/{employeeId}/monthly")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER', 'EMPLOYEE')")
     public ResponseEntity<List<AttendanceResponseDTO>> getMonthlyAttendance(
             @PathVariable Long employeeId,
             @RequestParam(required = false) LocalDate startDate,
-            @RequestParam(required = false) LocalDate endDate) {
+            @RequestParam(required = false) LocalDate endDate,
+            WebRequest request) {
 
         // Default to current month if not provided
         if (startDate == null || endDate == null) {
@@ -112,7 +240,23 @@ public class AttendanceController {
             endDate = currentMonth.atEndOfMonth();
         }
 
+        String eTag = resourceVersionService.employeeAttendanceETag(employeeId, startDate, endDate);
+        if (request.checkNotModified(eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         List<AttendanceResponseDTO> response = attendanceService.getMonthlyAttendance(employeeId, startDate, endDate);
+        return ETagUtil.ok(response, eTag);
+    }
+
+    // Yearly calendar as per-status bitsets; department views are limited to ADMIN, HR and MANAGER
+    @GetMapping("/heatmap")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER') or (hasRole('EMPLOYEE') and #department == null)")
+    public ResponseEntity<AttendanceHeatmapDTO> getHeatmap(
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Integer year) {
+        AttendanceHeatmapDTO response = attendanceService.getHeatmap(
+                year != null ? year : LocalDate.now().getYear(), employeeId, department);
         return ResponseEntity.ok(response);
     }
 
@@ -134,6 +278,16 @@ public class AttendanceController {
         return ResponseEntity.ok(response);
     }
 
+    // Served from the precomputed rollup table; month defaults to the current one
+    @GetMapping("/reports/monthly")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<List<AttendanceSummaryDTO>> getMonthlyReport(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        List<AttendanceSummaryDTO> response = attendanceRollupService.getMonthlyReport(
+                month != null ? month : YearMonth.now());
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     public ResponseEntity<Map<String, String>> deleteAttendance(@PathVariable Long id) {
@@ -1,16 +1,37 @@
 package com.example.hr.management.controller;
 
+import com.example.hr.management.dto.BulkImportResultDTO;
+import com.example.hr.management.dto.CursorPageDTO;
+import com.example.hr.management.dto.EmployeeChangesDTO;
 import com.example.hr.management.dto.EmployeeRequestDTO;
 import com.example.hr.management.dto.EmployeeResponseDTO;
+import com.example.hr.management.dto.EmployeeSummaryDTO;
 import com.example.hr.management.dto.ProfileUpdateRequestDTO;
+import com.example.hr.management.exception.BadRequestException;
+import com.example.hr.management.service.EmployeeImportService;
 import com.example.hr.management.service.EmployeeService;
+import com.example.hr.management.service.ExportService;
+import com.example.hr.management.service.ResourceVersionService;
+import com.example.hr.management.util.ETagUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,7 +41,13 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class EmployeeController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final ExportService exportService;
+    private final ResourceVersionService resourceVersionService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
@@ -30,6 +57,20 @@ public class EmployeeController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<BulkImportResultDTO> bulkImportEmployees(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        if (file.isEmpty()) {
+            throw new BadRequestException("CSV file is required");
+        }
+        // Read the upload as a stream; the file is never held in memory as a whole
+        try (InputStream csv = file.getInputStream()) {
+            BulkImportResultDTO result = employeeImportService.importEmployeesCsv(csv);
+            return ResponseEntity.ok(result);
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     public ResponseEntity<EmployeeResponseDTO> updateEmployee(
@@ -60,53 +101,177 @@ public class EmployeeController {
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER', 'EMPLOYEE')")
-    public ResponseEntity<EmployeeResponseDTO> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<EmployeeResponseDTO> getEmployeeById(@PathVariable Long id, WebRequest request) {
+        String eTag = resourceVersionService.employeeETag(id);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         EmployeeResponseDTO response = employeeService.getEmployeeById(id);
-        return ResponseEntity.ok(response);
+        return ETagUtil.ok(response, eTag);
     }
 
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER', 'EMPLOYEE')")
-    public ResponseEntity<EmployeeResponseDTO> getEmployeeByUserId(@PathVariable Long userId) {
+    public ResponseEntity<EmployeeResponseDTO> getEmployeeByUserId(@PathVariable Long userId, WebRequest request) {
+        String eTag = resourceVersionService.employeeByUserIdETag(userId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         EmployeeResponseDTO response = employeeService.getEmployeeByUserId(userId);
-        return ResponseEntity.ok(response);
+        return ETagUtil.ok(response, eTag);
     }
 
     @GetMapping("/code/{employeeCode}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
-    public ResponseEntity<EmployeeResponseDTO> getEmployeeByCode(@PathVariable String employeeCode) {
+    public ResponseEntity<EmployeeResponseDTO> getEmployeeByCode(@PathVariable String employeeCode,
+            WebRequest request) {
+        String eTag = resourceVersionService.employeeByCodeETag(employeeCode);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         EmployeeResponseDTO response = employeeService.getEmployeeByCode(employeeCode);
-        return ResponseEntity.ok(response);
+        return ETagUtil.ok(response, eTag);
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
-    public ResponseEntity<List<EmployeeResponseDTO>> getAllEmployees() {
+    public ResponseEntity<List<EmployeeResponseDTO>> getAllEmployees(WebRequest request) {
+        String eTag = resourceVersionService.employeesETag();
+        if (request.checkNotModified(eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         List<EmployeeResponseDTO> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+        return ETagUtil.ok(employees, eTag);
+    }
+
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    public ResponseEntity<List<EmployeeSummaryDTO>> getEmployeeSummaries(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String status,
+            WebRequest request) {
+        // Any change to the live set changes the fingerprint, so it is safe for filtered lists too
+        String eTag = resourceVersionService.employeesETag();
+        if (request.checkNotModified(eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        List<EmployeeSummaryDTO> employees = employeeService.getEmployeeSummaries(department, status);
+        return ETagUtil.ok(employees, eTag);
+    }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    public ResponseEntity<CursorPageDTO<EmployeeResponseDTO>> getEmployeePage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+        CursorPageDTO<EmployeeResponseDTO> page = employeeService.getEmployeePage(cursor, size, sort);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<EmployeeChangesDTO> getEmployeeChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        EmployeeChangesDTO changes = employeeService.getEmployeeChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            employeeService.streamAllEmployees(employee -> {
+                try {
+                    out.write(writer.writeValueAsBytes(employee));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "csv") String format) {
+        boolean ndjson = ExportService.FORMAT_NDJSON.equalsIgnoreCase(format);
+        if (!ndjson && !ExportService.FORMAT_CSV.equalsIgnoreCase(format)) {
+            throw new BadRequestException("Unsupported export format: " + format);
+        }
+        StreamingResponseBody body = outputStream -> exportService.exportEmployees(format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? NDJSON : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=employees." + (ndjson ? "ndjson" : "csv"))
+                .body(body);
     }
 
     @GetMapping("/department/{department}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
-    public ResponseEntity<List<EmployeeResponseDTO>> getEmployeesByDepartment(@PathVariable String department) {
+    public ResponseEntity<List<EmployeeResponseDTO>> getEmployeesByDepartment(@PathVariable String department,
+            WebRequest request) {
+        String eTag = resourceVersionService.employeesETag();
+        if (request.checkNotModified(eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         List<EmployeeResponseDTO> employees = employeeService.getEmployeesByDepartment(department);
-        return ResponseEntity.ok(employees);
+        return ETagUtil.ok(employees, eTag);
     }
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
-    public ResponseEntity<List<EmployeeResponseDTO>> getEmployeesByStatus(@PathVariable String status) {
+    public ResponseEntity<List<EmployeeResponseDTO>> getEmployeesByStatus(@PathVariable String status,
+            WebRequest request) {
+        String eTag = resourceVersionService.employeesETag();
+        if (request.checkNotModified(eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
         List<EmployeeResponseDTO> employees = employeeService.getEmployeesByStatus(status);
-        return ResponseEntity.ok(employees);
+        return ETagUtil.ok(employees, eTag);
     }
 
     @GetMapping("/search")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
-    public ResponseEntity<List<EmployeeResponseDTO>> searchEmployees(@RequestParam String keyword) {
-        List<EmployeeResponseDTO> employees = employeeService.searchEmployees(keyword);
+    public ResponseEntity<List<EmployeeResponseDTO>> searchEmployees(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "50") int limit) {
+        List<EmployeeResponseDTO> employees = employeeService.searchEmployees(keyword, limit);
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping("/{id}/reports")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    public ResponseEntity<List<EmployeeSummaryDTO>> getAllReports(@PathVariable Long id) {
+        List<EmployeeSummaryDTO> reports = employeeService.getAllReports(id);
+        return ResponseEntity.ok(reports);
+    }
+
+    @GetMapping("/{id}/reporting-chain")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<List<EmployeeSummaryDTO>> getReportingChain(@PathVariable Long id) {
+        List<EmployeeSummaryDTO> chain = employeeService.getReportingChain(id);
+        return ResponseEntity.ok(chain);
+    }
+
+    @GetMapping("/{id}/reports/{employeeId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    public ResponseEntity<Map<String, Object>> isInReportingLine(
+            @PathVariable Long id,
+            @PathVariable Long employeeId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("managerId", id);
+        response.put("employeeId", employeeId);
+        response.put("inReportingLine", employeeService.isInReportingLine(id, employeeId));
+        response.put("depth", employeeService.getReportingDepth(employeeId));
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     public ResponseEntity<Map<String, String>> deleteEmployee(@PathVariable Long id) {
@@ -116,6 +281,12 @@ public class EmployeeController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(employeeService.getCacheStats());
+    }
+
     @GetMapping("/count/active")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     public ResponseEntity<Map<String, Long>> getActiveEmployeeCount() {
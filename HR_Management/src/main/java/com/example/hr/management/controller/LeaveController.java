@@ -3,6 +3,7 @@ package com.example.hr.management.controller;
 
 import com.example.hr.management.dto.LeaveRequestDTO;
 import com.example.hr.management.dto.LeaveResponseDTO;
+import com.example.hr.management.service.IdempotencyService;
 import com.example.hr.management.service.LeaveService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -18,10 +19,17 @@ import java.util.List;
 public class LeaveController {
 
     private final LeaveService leaveService;
+    private final IdempotencyService idempotencyService;
 
     // Apply for leave
     @PostMapping("/apply")
-    public ResponseEntity<?> applyLeave(@RequestBody LeaveRequestDTO leaveRequestDTO) {
+    public ResponseEntity<?> applyLeave(@RequestBody LeaveRequestDTO leaveRequestDTO,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "leave-apply", leaveRequestDTO,
+                () -> doApplyLeave(leaveRequestDTO));
+    }
+
+    private ResponseEntity<ApiResponse<LeaveResponseDTO>> doApplyLeave(LeaveRequestDTO leaveRequestDTO) {
         try {
             LeaveResponseDTO savedLeave = leaveService.applyLeave(leaveRequestDTO);
             return ResponseEntity.status(HttpStatus.CREATED)
@@ -3,10 +3,13 @@ package com.example.hr.management.controller;
 import com.example.hr.management.dto.PayrollResponseDTO;
 import com.example.hr.management.entity.Payroll;
 import com.example.hr.management.service.PayrollService;
+import com.example.hr.management.service.ResourceVersionService;
+import com.example.hr.management.util.ETagUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -18,6 +21,7 @@ import java.util.List;
 public class PayrollController {
 
     private final PayrollService payrollService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping("/generate")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
@@ -43,10 +47,14 @@ public class PayrollController {
 
     @GetMapping("/employee/{employeeId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'EMPLOYEE')")
-    public ResponseEntity<?> getEmployeePayrolls(@PathVariable Long employeeId) {
+    public ResponseEntity<?> getEmployeePayrolls(@PathVariable Long employeeId, WebRequest request) {
         try {
+            String eTag = resourceVersionService.employeePayrollsETag(employeeId);
+            if (request.checkNotModified(eTag)) {
+                return ETagUtil.notModified(eTag);
+            }
             List<PayrollResponseDTO> payrolls = payrollService.getEmployeePayrolls(employeeId);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Payrolls retrieved successfully", payrolls));
+            return ETagUtil.ok(new ApiResponse<>(true, "Payrolls retrieved successfully", payrolls), eTag);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
@@ -54,10 +62,14 @@ public class PayrollController {
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'EMPLOYEE')")
-    public ResponseEntity<?> getPayrollById(@PathVariable Long id) {
+    public ResponseEntity<?> getPayrollById(@PathVariable Long id, WebRequest request) {
         try {
+            String eTag = resourceVersionService.payrollETag(id);
+            if (eTag != null && request.checkNotModified(eTag)) {
+                return ETagUtil.notModified(eTag);
+            }
             PayrollResponseDTO payroll = payrollService.getPayrollById(id);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Payroll retrieved successfully", payroll));
+            return ETagUtil.ok(new ApiResponse<>(true, "Payroll retrieved successfully", payroll), eTag);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
@@ -0,0 +1,118 @@
+package com.example.hr.management.controller;
+
+import com.example.hr.management.exception.ResourceNotFoundException;
+import com.example.hr.management.repository.EmployeeRepository;
+import com.example.hr.management.service.ProfileImageStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/employees")
+@RequiredArgsConstructor
+public class ProfileImageController {
+
+    private final EmployeeRepository employeeRepository;
+    private final ProfileImageStorageService profileImageStorageService;
+
+    @GetMapping("/{id}/profile-image")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER', 'EMPLOYEE')")
+    public void getProfileImage(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String hash = employeeRepository.findProfileImageHashById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No profile image for employee id: " + id));
+        writeImage(hash, request, response);
+    }
+
+    // Content-addressed, so responses are immutable and cache privately for a year
+    @GetMapping("/profile-images/{hash}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER', 'EMPLOYEE')")
+    public void getProfileImageByHash(@PathVariable String hash, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        writeImage(hash, request, response);
+    }
+
+    private void writeImage(String hash, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(profileImageStorageService.locate(hash),
+                StandardOpenOption.READ)) {
+            String etag = "\"" + hash + "\"";
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.trim()))) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(12);
+            channel.read(header, 0);
+            String contentType = profileImageStorageService.detectContentType(
+                    Arrays.copyOf(header.array(), header.position()));
+            response.setContentType(contentType != null ? contentType : "application/octet-stream");
+
+            long length = channel.size();
+            long start = 0;
+            long end = length - 1;
+
+            // Honour a single byte range unless If-Range says the client copy is stale
+            String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+                List<HttpRange> ranges;
+                try {
+                    ranges = HttpRange.parseRanges(rangeHeader);
+                } catch (IllegalArgumentException e) {
+                    ranges = List.of();
+                }
+                if (ranges.size() == 1) {
+                    HttpRange range = ranges.get(0);
+                    try {
+                        start = range.getRangeStart(length);
+                        end = range.getRangeEnd(length);
+                    } catch (IllegalArgumentException e) {
+                        start = length;
+                    }
+                    if (start >= length || start > end) {
+                        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                        return;
+                    }
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            }
+
+            long remaining = end - start + 1;
+            response.setContentLengthLong(remaining);
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+}
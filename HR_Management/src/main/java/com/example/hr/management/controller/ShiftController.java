@@ -0,0 +1,102 @@
+package com.example.hr.management.controller;
+
+import com.example.hr.management.dto.ShiftAssignmentDTO;
+import com.example.hr.management.dto.ShiftDTO;
+import com.example.hr.management.service.ShiftScheduleIndex;
+import com.example.hr.management.service.ShiftService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/shifts")
+@RequiredArgsConstructor
+public class ShiftController {
+
+    private final ShiftService shiftService;
+    private final ShiftScheduleIndex shiftScheduleIndex;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    public ResponseEntity<List<ShiftDTO>> getAllShifts() {
+        return ResponseEntity.ok(shiftService.getAllShifts());
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<ShiftDTO> createShift(@Valid @RequestBody ShiftDTO request) {
+        ShiftDTO response = shiftService.createShift(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<ShiftDTO> updateShift(@PathVariable Long id, @Valid @RequestBody ShiftDTO request) {
+        return ResponseEntity.ok(shiftService.updateShift(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<Map<String, String>> deleteShift(@PathVariable Long id) {
+        shiftService.deleteShift(id);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Shift deleted successfully");
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/rosters")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<ShiftAssignmentDTO> assignRoster(@Valid @RequestBody ShiftAssignmentDTO request) {
+        ShiftAssignmentDTO response = shiftService.assignRoster(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/rosters/employee/{employeeId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<List<ShiftAssignmentDTO>> getEmployeeRosters(@PathVariable Long employeeId) {
+        return ResponseEntity.ok(shiftService.getEmployeeRosters(employeeId));
+    }
+
+    @DeleteMapping("/rosters/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    public ResponseEntity<Map<String, String>> deleteRoster(@PathVariable Long id) {
+        shiftService.deleteRoster(id);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Roster deleted successfully");
+        return ResponseEntity.ok(response);
+    }
+
+    // Resolved from the in-memory schedule; date defaults to today
+    @GetMapping("/expected/{employeeId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<Map<String, Object>> getExpectedShift(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now();
+        ShiftScheduleIndex.ExpectedShift shift = shiftScheduleIndex.expectedShift(employeeId, day);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("employeeId", employeeId);
+        response.put("date", day);
+        response.put("dayOff", shift == null);
+        if (shift != null) {
+            response.put("shiftId", shift.shiftId());
+            response.put("shiftName", shift.name());
+            response.put("startTime", shift.start());
+            response.put("endTime", shift.end());
+            response.put("graceMinutes", shift.graceMinutes());
+        }
+        return ResponseEntity.ok(response);
+    }
+}
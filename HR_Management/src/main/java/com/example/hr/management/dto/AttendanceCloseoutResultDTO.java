@@ -0,0 +1,20 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceCloseoutResultDTO {
+
+    private LocalDate date;
+    private Boolean workingDay;
+    private Long absentMarked;
+    private Long autoClockedOut;
+}
@@ -0,0 +1,31 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceEventDTO {
+
+    private Long id;
+    private String eventType;
+    private Long attendanceId;
+    private Long employeeId;
+    private LocalDate attendanceDate;
+    private LocalTime clockInTime;
+    private LocalTime clockOutTime;
+    private String status;
+    private String remarks;
+    private Double workingHours;
+    private Boolean isLate;
+    private Integer lateMinutes;
+    private LocalDateTime recordedAt;
+}
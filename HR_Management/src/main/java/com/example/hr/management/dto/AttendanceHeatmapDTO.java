@@ -0,0 +1,20 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceHeatmapDTO {
+
+    private Integer year;
+    private Integer days; // 365 or 366
+    private List<String> statuses; // keys present in every employee's bitsets, LATE last
+    private List<EmployeeHeatmapDTO> employees;
+}
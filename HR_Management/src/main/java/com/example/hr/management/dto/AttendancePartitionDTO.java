@@ -0,0 +1,18 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendancePartitionDTO {
+
+    private String name;
+    private String bound; // e.g. FOR VALUES FROM ('2024-01-01') TO ('2024-02-01'), or DEFAULT
+    private Long estimatedRows;
+    private Long totalBytes;
+}
@@ -0,0 +1,20 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceReplayResultDTO {
+
+    private List<String> rebuiltMonths;
+    private List<String> failedMonths; // e.g. "2024-03: <reason>"
+    private Long rowsRemoved;
+    private Long rowsRestored;
+}
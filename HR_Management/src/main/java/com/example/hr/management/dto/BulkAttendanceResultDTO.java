@@ -0,0 +1,21 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAttendanceResultDTO {
+
+    private Long totalRecords;
+    private Long marked;
+    private Long skipped;
+    private Long failed;
+    private List<BulkRowResultDTO> results; // one entry per submitted record, in request order
+}
@@ -0,0 +1,20 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkImportResultDTO {
+
+    private Long totalRows;
+    private Long imported;
+    private Long failed;
+    private List<BulkRowResultDTO> errors;
+}
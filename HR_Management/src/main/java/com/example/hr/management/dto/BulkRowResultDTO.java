@@ -0,0 +1,19 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRowResultDTO {
+
+    private Long rowNumber;
+    private String key; // employee code or employee/date the row refers to
+    private String status; // IMPORTED, MARKED, FAILED, SKIPPED
+    private String message;
+    private Long id; // id of the created record, when one was written
+}
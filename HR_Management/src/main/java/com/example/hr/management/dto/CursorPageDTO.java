@@ -0,0 +1,21 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private Integer size;
+    private Boolean hasMore;
+    private String nextCursor; // pass back as ?cursor= to fetch the next page
+    private String sort;
+}
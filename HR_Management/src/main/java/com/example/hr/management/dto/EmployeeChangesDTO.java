@@ -0,0 +1,20 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeChangesDTO {
+
+    private List<EmployeeResponseDTO> updated; // created or modified since the watermark
+    private List<EmployeeTombstoneDTO> deleted;
+    private Boolean hasMore;
+    private String watermark; // pass back as ?since= on the next poll
+}
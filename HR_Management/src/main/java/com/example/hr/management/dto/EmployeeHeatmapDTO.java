@@ -0,0 +1,20 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeHeatmapDTO {
+
+    private Long employeeId;
+    private String employeeName;
+    // status -> base64 little-endian bitset (java.util.BitSet#toByteArray); bit i is day-of-year i + 1
+    private Map<String, String> bitsets;
+}
@@ -24,7 +24,8 @@ public class EmployeeResponseDTO {
     private LocalDate dateOfBirth;
     private Integer age;
     private String gender;
-    private String profileImage;
+    private String profileImage; // URL of the streamed image, not the image itself
+    private String profileImageHash;
     private String address;
     private String city;
     private String state;
@@ -0,0 +1,32 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeSummaryDTO {
+
+    private Long id;
+    private String employeeCode;
+    private String firstName;
+    private String lastName;
+    private String fullName;
+    private String email;
+    private String phoneNumber;
+    private String department;
+    private String designation;
+    private String employmentType;
+    private String employmentStatus;
+    private LocalDate joiningDate;
+    private Double basicSalary;
+    private Long managerId;
+    private String profileImage;
+    private Long userId;
+}
@@ -0,0 +1,19 @@
+package com.example.hr.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeTombstoneDTO {
+
+    private Long id;
+    private String employeeCode;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,34 @@
+package com.example.hr.management.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShiftAssignmentDTO {
+
+    private Long id;
+
+    @NotNull(message = "Employee ID is required")
+    private Long employeeId;
+
+    // Shift id per day of the cycle, 0 for a day off; a single entry is a fixed shift
+    @NotEmpty(message = "Rotation must contain at least one day")
+    @Size(max = 366, message = "Rotation cannot be longer than 366 days")
+    private List<Long> rotation;
+
+    @NotNull(message = "Effective from date is required")
+    private LocalDate effectiveFrom;
+
+    private LocalDate effectiveTo;
+}
@@ -0,0 +1,34 @@
+package com.example.hr.management.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShiftDTO {
+
+    private Long id;
+
+    @NotBlank(message = "Shift name is required")
+    private String name;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    @NotNull(message = "End time is required")
+    private LocalTime endTime; // before startTime for overnight shifts
+
+    @Min(value = 0, message = "Grace minutes cannot be negative")
+    @Max(value = 240, message = "Grace minutes cannot exceed 240")
+    private Integer graceMinutes;
+}
@@ -12,6 +12,8 @@ import java.time.LocalTime;
 @Entity
 @Table(name = "attendance", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "employee_id", "attendance_date" }, name = "unique_emp_date")
+}, indexes = {
+        @Index(name = "idx_attendance_date", columnList = "attendance_date")
 })
 @Data
 @NoArgsConstructor
@@ -23,7 +25,7 @@ public class Attendance {
     @Column(name = "id")
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
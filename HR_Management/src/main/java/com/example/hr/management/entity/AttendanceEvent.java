@@ -0,0 +1,70 @@
+package com.example.hr.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// Append-only history of attendance writes; each row carries the attendance state the write produced
+@Entity
+@Table(name = "attendance_events", indexes = {
+        @Index(name = "idx_attendance_events_emp_date", columnList = "employee_id, attendance_date, id"),
+        @Index(name = "idx_attendance_events_date", columnList = "attendance_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // CLOCK_IN, CLOCK_OUT, MARK, CORRECTION, DELETE, AUTO_ABSENT, AUTO_CLOCK_OUT or BASELINE
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;
+
+    @Column(name = "attendance_id", nullable = false)
+    private Long attendanceId;
+
+    // No foreign key, so history outlives deleted attendance rows; the employee purge clears it
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "attendance_date", nullable = false)
+    private LocalDate attendanceDate;
+
+    @Column(name = "clock_in_time")
+    private LocalTime clockInTime;
+
+    @Column(name = "clock_out_time")
+    private LocalTime clockOutTime;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "remarks", length = 500)
+    private String remarks;
+
+    @Column(name = "working_hours")
+    private Double workingHours;
+
+    @Column(name = "is_late", nullable = false)
+    private Boolean isLate;
+
+    @Column(name = "late_minutes")
+    private Integer lateMinutes;
+
+    @Column(name = "created_at", nullable = false, columnDefinition = "TIMESTAMP(6)")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false, columnDefinition = "TIMESTAMP(6)")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "recorded_at", nullable = false, columnDefinition = "TIMESTAMP(6)")
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,58 @@
+package com.example.hr.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Per-employee monthly attendance totals, maintained by AttendanceRollupService
+@Entity
+@Table(name = "attendance_monthly_rollup", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "employee_id", "month_start" }, name = "unique_rollup_emp_month")
+}, indexes = {
+        @Index(name = "idx_rollup_month", columnList = "month_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    // First day of the month
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "present_days", nullable = false)
+    private Long presentDays = 0L;
+
+    @Column(name = "absent_days", nullable = false)
+    private Long absentDays = 0L;
+
+    @Column(name = "half_days", nullable = false)
+    private Long halfDays = 0L;
+
+    @Column(name = "leave_days", nullable = false)
+    private Long leaveDays = 0L;
+
+    @Column(name = "late_days", nullable = false)
+    private Long lateDays = 0L;
+
+    @Column(name = "total_days", nullable = false)
+    private Long totalDays = 0L;
+
+    @Column(name = "total_working_hours", nullable = false)
+    private Double totalWorkingHours = 0.0;
+
+    // Statement time of the refresh that wrote this row; older refreshes never overwrite newer ones
+    @Column(name = "refreshed_at", nullable = false, columnDefinition = "TIMESTAMP(6)")
+    private LocalDateTime refreshedAt;
+}
@@ -9,7 +9,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_updated_at", columnList = "updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -40,9 +42,9 @@ public class Employee {
     @Column(length = 10)
     private String gender;
 
-    @Lob
-    @Column(name = "profile_image", columnDefinition = "TEXT")
-    private String profileImage;
+    // SHA-256 key into the profile image store; the image bytes never live in this row
+    @Column(name = "profile_image_hash", length = 64)
+    private String profileImageHash;
 
     @Column(length = 500)
     private String address;
@@ -94,7 +96,7 @@ public class Employee {
     private String employmentType; // FULL_TIME, PART_TIME, CONTRACT
 
     @Column(name = "employment_status", length = 20)
-    private String employmentStatus; // ACTIVE, INACTIVE, TERMINATED
+    private String employmentStatus; // ACTIVE, INACTIVE, TERMINATED, DELETED
 
     @Column(name = "basic_salary")
     private Double basicSalary;
@@ -112,6 +114,14 @@ public class Employee {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // Set by soft delete; the row and its dependents are purged in the background
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Set once dependent rows are gone; the row stays as a change-feed tombstone until retention expires
+    @Column(name = "purged_at")
+    private LocalDateTime purgedAt;
+
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,7 @@
+package com.example.hr.management.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.hr.management.repository;
+
+import com.example.hr.management.entity.AttendanceMonthlyRollup;
+import com.example.hr.management.repository.projection.AttendanceRollupView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AttendanceMonthlyRollupRepository extends JpaRepository<AttendanceMonthlyRollup, Long> {
+
+    @Query("SELECT r.employeeId AS employeeId, e.firstName AS employeeFirstName, e.lastName AS employeeLastName, " +
+            "r.monthStart AS monthStart, r.presentDays AS presentDays, r.absentDays AS absentDays, " +
+            "r.halfDays AS halfDays, r.leaveDays AS leaveDays, r.lateDays AS lateDays, r.totalDays AS totalDays, " +
+            "r.totalWorkingHours AS totalWorkingHours " +
+            "FROM AttendanceMonthlyRollup r JOIN Employee e ON e.id = r.employeeId " +
+            "WHERE r.monthStart = :monthStart AND e.deletedAt IS NULL AND r.totalDays > 0 " +
+            "ORDER BY e.employeeCode")
+    List<AttendanceRollupView> findReportByMonth(@Param("monthStart") LocalDate monthStart);
+}
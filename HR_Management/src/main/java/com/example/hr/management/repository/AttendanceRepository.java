@@ -1,6 +1,9 @@
 package com.example.hr.management.repository;
 
 import com.example.hr.management.entity.Attendance;
+import com.example.hr.management.repository.projection.AttendanceStatusTotals;
+import com.example.hr.management.repository.projection.AttendanceView;
+import com.example.hr.management.repository.projection.VersionFingerprint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,33 +16,68 @@ import java.util.Optional;
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
-        Optional<Attendance> findByEmployeeIdAndAttendanceDate(Long employeeId, LocalDate date);
+        String VIEW_SELECT = "SELECT a.id AS id, e.id AS employeeId, e.firstName AS employeeFirstName, " +
+                        "e.lastName AS employeeLastName, e.employeeCode AS employeeCode, " +
+                        "a.attendanceDate AS attendanceDate, a.clockInTime AS clockInTime, " +
+                        "a.clockOutTime AS clockOutTime, a.status AS status, a.remarks AS remarks, " +
+                        "a.workingHours AS workingHours, a.isLate AS isLate, a.lateMinutes AS lateMinutes, " +
+                        "a.createdAt AS createdAt, a.updatedAt AS updatedAt " +
+                        "FROM Attendance a JOIN a.employee e ";
+
+        @Query(VIEW_SELECT + "WHERE a.id = :id")
+        Optional<AttendanceView> findViewById(@Param("id") Long id);
+
+        @Query(VIEW_SELECT + "WHERE e.id = :employeeId AND a.attendanceDate = :date")
+        Optional<AttendanceView> findViewByEmployeeIdAndDate(@Param("employeeId") Long employeeId,
+                        @Param("date") LocalDate date);
+
+        @Query(VIEW_SELECT + "WHERE e.id = :employeeId ORDER BY a.attendanceDate DESC")
+        List<AttendanceView> findViewsByEmployeeId(@Param("employeeId") Long employeeId);
 
-        List<Attendance> findByEmployeeIdOrderByAttendanceDateDesc(Long employeeId);
+        @Query(VIEW_SELECT + "WHERE a.attendanceDate = :date ORDER BY e.employeeCode")
+        List<AttendanceView> findViewsByDate(@Param("date") LocalDate date);
+
+        @Query(VIEW_SELECT + "WHERE e.id = :employeeId AND a.attendanceDate BETWEEN :startDate AND :endDate " +
+                        "ORDER BY a.attendanceDate DESC")
+        List<AttendanceView> findMonthlyViews(@Param("employeeId") Long employeeId,
+                        @Param("startDate") LocalDate startDate,
+                        @Param("endDate") LocalDate endDate);
 
-        List<Attendance> findByAttendanceDate(LocalDate date);
+        Optional<Attendance> findByEmployeeIdAndAttendanceDate(Long employeeId, LocalDate date);
 
         List<Attendance> findByEmployeeIdAndAttendanceDateBetween(Long employeeId, LocalDate startDate,
                         LocalDate endDate);
 
         List<Attendance> findByStatus(String status);
 
-        @Query("SELECT a FROM Attendance a WHERE a.employee.id = :employeeId AND a.attendanceDate BETWEEN :startDate AND :endDate ORDER BY a.attendanceDate DESC")
-        List<Attendance> getMonthlyAttendance(@Param("employeeId") Long employeeId,
+        @Query("SELECT a.status AS status, e.firstName AS employeeFirstName, e.lastName AS employeeLastName, " +
+                        "COUNT(a) AS days, SUM(CASE WHEN a.isLate = true THEN 1 ELSE 0 END) AS lateDays, " +
+                        "COALESCE(SUM(a.workingHours), 0.0) AS workingHours " +
+                        "FROM Attendance a JOIN a.employee e " +
+                        "WHERE e.id = :employeeId AND a.attendanceDate BETWEEN :startDate AND :endDate " +
+                        "GROUP BY a.status, e.firstName, e.lastName")
+        List<AttendanceStatusTotals> summarizeByStatus(@Param("employeeId") Long employeeId,
                         @Param("startDate") LocalDate startDate,
                         @Param("endDate") LocalDate endDate);
 
-        @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId AND a.status = 'PRESENT' AND a.attendanceDate BETWEEN :startDate AND :endDate")
-        Long countPresentDays(@Param("employeeId") Long employeeId, @Param("startDate") LocalDate startDate,
-                        @Param("endDate") LocalDate endDate);
+        void deleteByEmployeeId(Long employeeId);
 
-        @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId AND a.status = 'ABSENT' AND a.attendanceDate BETWEEN :startDate AND :endDate")
-        Long countAbsentDays(@Param("employeeId") Long employeeId, @Param("startDate") LocalDate startDate,
-                        @Param("endDate") LocalDate endDate);
+        @Query("SELECT COUNT(a) AS rowCount, MAX(a.updatedAt) AS lastUpdated, MAX(e.updatedAt) AS relatedUpdated " +
+                        "FROM Attendance a JOIN a.employee e WHERE a.id = :id")
+        VersionFingerprint findVersionById(@Param("id") Long id);
 
-        @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId AND a.isLate = true AND a.attendanceDate BETWEEN :startDate AND :endDate")
-        Long countLateDays(@Param("employeeId") Long employeeId, @Param("startDate") LocalDate startDate,
+        @Query("SELECT COUNT(a) AS rowCount, MAX(a.updatedAt) AS lastUpdated, MAX(e.updatedAt) AS relatedUpdated " +
+                        "FROM Attendance a JOIN a.employee e WHERE e.id = :employeeId")
+        VersionFingerprint findVersionByEmployeeId(@Param("employeeId") Long employeeId);
+
+        @Query("SELECT COUNT(a) AS rowCount, MAX(a.updatedAt) AS lastUpdated, MAX(e.updatedAt) AS relatedUpdated " +
+                        "FROM Attendance a JOIN a.employee e WHERE e.id = :employeeId " +
+                        "AND a.attendanceDate BETWEEN :startDate AND :endDate")
+        VersionFingerprint findVersionByEmployeeIdAndDateRange(@Param("employeeId") Long employeeId,
+                        @Param("startDate") LocalDate startDate,
                         @Param("endDate") LocalDate endDate);
 
-        void deleteByEmployeeId(Long employeeId);
+        @Query("SELECT COUNT(a) AS rowCount, MAX(a.updatedAt) AS lastUpdated, MAX(e.updatedAt) AS relatedUpdated " +
+                        "FROM Attendance a JOIN a.employee e WHERE a.attendanceDate = :date")
+        VersionFingerprint findVersionByDate(@Param("date") LocalDate date);
 }
@@ -1,13 +1,26 @@
 package com.example.hr.management.repository;
 
 import com.example.hr.management.entity.Employee;
+import com.example.hr.management.repository.projection.EmployeeManagerLink;
+import com.example.hr.management.repository.projection.EmployeeNameView;
+import com.example.hr.management.repository.projection.EmployeeSearchView;
+import com.example.hr.management.repository.projection.EmployeeSummaryView;
+import com.example.hr.management.repository.projection.VersionFingerprint;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
@@ -24,22 +37,136 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     boolean existsByEmail(String email);
 
-    List<Employee> findByDepartment(String department);
+    // Employee.user is an eager to-one; fetching it in the same query keeps list endpoints at one statement
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user WHERE e.deletedAt IS NULL")
+    List<Employee> findByDeletedAtIsNull();
+
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user WHERE e.department = :department AND e.deletedAt IS NULL")
+    List<Employee> findByDepartmentAndDeletedAtIsNull(@Param("department") String department);
 
-    List<Employee> findByEmploymentStatus(String employmentStatus);
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user " +
+            "WHERE e.employmentStatus = :employmentStatus AND e.deletedAt IS NULL")
+    List<Employee> findByEmploymentStatusAndDeletedAtIsNull(@Param("employmentStatus") String employmentStatus);
+
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user WHERE e.id IN :ids AND e.deletedAt IS NULL")
+    List<Employee> findLiveByIdIn(@Param("ids") Collection<Long> ids);
 
     List<Employee> findByManagerId(Long managerId);
 
-    @Query("SELECT e FROM Employee e WHERE " +
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user WHERE e.deletedAt IS NULL AND (" +
             "LOWER(e.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(e.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(e.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(e.employeeCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+            "LOWER(e.employeeCode) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     List<Employee> searchEmployees(@Param("keyword") String keyword);
 
-    @Query("SELECT COUNT(e) FROM Employee e WHERE e.employmentStatus = 'ACTIVE'")
+    @Query("SELECT e.profileImageHash FROM Employee e WHERE e.id = :id AND e.deletedAt IS NULL")
+    Optional<String> findProfileImageHashById(@Param("id") Long id);
+
+    @Query("SELECT e.id AS id, e.firstName AS firstName, e.lastName AS lastName " +
+            "FROM Employee e WHERE e.id IN :ids")
+    List<EmployeeNameView> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.id AS id, e.firstName AS firstName, e.lastName AS lastName " +
+            "FROM Employee e WHERE e.department = :department AND e.deletedAt IS NULL ORDER BY e.id")
+    List<EmployeeNameView> findNamesByDepartment(@Param("department") String department);
+
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids AND e.deletedAt IS NULL")
+    List<Long> findLiveIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Change feed on (updatedAt, id); includes soft-deleted rows so they can be reported as tombstones
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user " +
+            "WHERE (e.updatedAt > :since OR (e.updatedAt = :since AND e.id > :afterId)) AND e.updatedAt <= :until " +
+            "ORDER BY e.updatedAt, e.id")
+    List<Employee> findChangedAfter(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+            @Param("until") LocalDateTime until, Pageable pageable);
+
+    // Keyset pagination on (id)
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user WHERE e.deletedAt IS NULL AND e.id > :afterId ORDER BY e.id")
+    List<Employee> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset pagination on (department, lastName, id); served by idx_employees_department_keyset (SchemaExtensions)
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user WHERE e.deletedAt IS NULL " +
+            "ORDER BY COALESCE(e.department, ''), e.lastName, e.id")
+    List<Employee> findFirstPageByDepartment(Pageable pageable);
+
+    // A row comparison lets the index seek straight to the cursor instead of filtering from the start
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user WHERE e.deletedAt IS NULL AND " +
+            "(COALESCE(e.department, ''), e.lastName, e.id) > (:department, :lastName, :afterId) " +
+            "ORDER BY COALESCE(e.department, ''), e.lastName, e.id")
+    List<Employee> findPageAfterDepartmentKey(@Param("department") String department,
+            @Param("lastName") String lastName,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    // Forward-only cursor; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user WHERE e.deletedAt IS NULL ORDER BY e.id")
+    Stream<Employee> streamAll();
+
+    @Query("SELECT e FROM Employee e WHERE e.id = :id AND e.deletedAt IS NULL")
+    Optional<Employee> findLiveById(@Param("id") Long id);
+
+    @Query("SELECT e.employeeCode FROM Employee e")
+    List<String> findAllEmployeeCodes();
+
+    @Query("SELECT e.email FROM Employee e")
+    List<String> findAllEmails();
+
+    @Query("SELECT e.id AS id, e.managerId AS managerId FROM Employee e WHERE e.deletedAt IS NULL")
+    List<EmployeeManagerLink> findAllManagerLinks();
+
+    @Query("SELECT e.id AS id, e.firstName AS firstName, e.lastName AS lastName, " +
+            "e.email AS email, e.employeeCode AS employeeCode FROM Employee e WHERE e.deletedAt IS NULL")
+    List<EmployeeSearchView> findAllForSearchIndex();
+
+    // Slim list projections: only the columns list views render, no entity hydration
+    String SUMMARY_SELECT = "SELECT e.id AS id, e.employeeCode AS employeeCode, e.firstName AS firstName, " +
+            "e.lastName AS lastName, e.email AS email, e.phoneNumber AS phoneNumber, " +
+            "e.department AS department, e.designation AS designation, " +
+            "e.employmentType AS employmentType, e.employmentStatus AS employmentStatus, " +
+            "e.joiningDate AS joiningDate, e.basicSalary AS basicSalary, e.managerId AS managerId, " +
+            "e.profileImageHash AS profileImageHash, u.id AS userId " +
+            "FROM Employee e LEFT JOIN e.user u WHERE e.deletedAt IS NULL ";
+
+    @Query(SUMMARY_SELECT + "ORDER BY e.id")
+    List<EmployeeSummaryView> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "AND e.id IN :ids")
+    List<EmployeeSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY_SELECT + "AND e.department = :department ORDER BY e.id")
+    List<EmployeeSummaryView> findSummariesByDepartment(@Param("department") String department);
+
+    @Query(SUMMARY_SELECT + "AND e.employmentStatus = :status ORDER BY e.id")
+    List<EmployeeSummaryView> findSummariesByStatus(@Param("status") String status);
+
+    @Query("SELECT COUNT(e) FROM Employee e WHERE e.employmentStatus = 'ACTIVE' AND e.deletedAt IS NULL")
     Long countActiveEmployees();
 
-    @Query("SELECT COUNT(e) FROM Employee e WHERE e.department = :department")
+    @Query("SELECT COUNT(e) FROM Employee e WHERE e.department = :department AND e.deletedAt IS NULL")
     Long countByDepartment(@Param("department") String department);
+
+    @Query("SELECT COUNT(e) AS rowCount, MAX(e.updatedAt) AS lastUpdated, " +
+            "GREATEST(MAX(m.updatedAt), MAX(u.updatedAt)) AS relatedUpdated " +
+            "FROM Employee e LEFT JOIN Employee m ON m.id = e.managerId LEFT JOIN e.user u WHERE e.id = :id AND e.deletedAt IS NULL")
+    VersionFingerprint findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(e) AS rowCount, MAX(e.updatedAt) AS lastUpdated, " +
+            "GREATEST(MAX(m.updatedAt), MAX(u.updatedAt)) AS relatedUpdated " +
+            "FROM Employee e LEFT JOIN Employee m ON m.id = e.managerId LEFT JOIN e.user u " +
+            "WHERE e.user.id = :userId AND e.deletedAt IS NULL")
+    VersionFingerprint findVersionByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(e) AS rowCount, MAX(e.updatedAt) AS lastUpdated, " +
+            "GREATEST(MAX(m.updatedAt), MAX(u.updatedAt)) AS relatedUpdated " +
+            "FROM Employee e LEFT JOIN Employee m ON m.id = e.managerId LEFT JOIN e.user u " +
+            "WHERE e.employeeCode = :employeeCode AND e.deletedAt IS NULL")
+    VersionFingerprint findVersionByEmployeeCode(@Param("employeeCode") String employeeCode);
+
+    // Manager names come from the same live set, so the set's own max(updatedAt) covers them; usernames do not
+    @Query("SELECT COUNT(e) AS rowCount, MAX(e.updatedAt) AS lastUpdated, " +
+            "GREATEST(MAX(e.updatedAt), MAX(u.updatedAt)) AS relatedUpdated " +
+            "FROM Employee e LEFT JOIN e.user u WHERE e.deletedAt IS NULL")
+    VersionFingerprint findVersionOfAll();
 }
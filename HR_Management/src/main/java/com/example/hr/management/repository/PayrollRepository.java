@@ -1,7 +1,10 @@
 package com.example.hr.management.repository;
 
 import com.example.hr.management.entity.Payroll;
+import com.example.hr.management.repository.projection.VersionFingerprint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -15,4 +18,12 @@ public interface PayrollRepository extends JpaRepository<Payroll, Long> {
     Optional<Payroll> findByEmployeeIdAndPayPeriodStartAndPayPeriodEnd(Long employeeId, LocalDate start, LocalDate end);
 
     void deleteByEmployeeId(Long employeeId);
+
+    @Query("SELECT COUNT(p) AS rowCount, MAX(p.updatedAt) AS lastUpdated, MAX(e.updatedAt) AS relatedUpdated " +
+            "FROM Payroll p JOIN p.employee e WHERE p.id = :id")
+    VersionFingerprint findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(p) AS rowCount, MAX(p.updatedAt) AS lastUpdated, MAX(e.updatedAt) AS relatedUpdated " +
+            "FROM Payroll p JOIN p.employee e WHERE e.id = :employeeId")
+    VersionFingerprint findVersionByEmployeeId(@Param("employeeId") Long employeeId);
 }
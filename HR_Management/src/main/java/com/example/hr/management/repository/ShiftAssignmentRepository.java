@@ -0,0 +1,25 @@
+package com.example.hr.management.repository;
+
+import com.example.hr.management.entity.ShiftAssignment;
+import com.example.hr.management.repository.projection.ShiftAssignmentView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ShiftAssignmentRepository extends JpaRepository<ShiftAssignment, Long> {
+
+    String VIEW_SELECT = "SELECT a.id AS id, a.employee.id AS employeeId, a.rotation AS rotation, " +
+            "a.effectiveFrom AS effectiveFrom, a.effectiveTo AS effectiveTo FROM ShiftAssignment a ";
+
+    @Query(VIEW_SELECT + "ORDER BY a.employee.id, a.effectiveFrom")
+    List<ShiftAssignmentView> findAllViews();
+
+    @Query(VIEW_SELECT + "WHERE a.employee.id = :employeeId ORDER BY a.effectiveFrom")
+    List<ShiftAssignmentView> findViewsByEmployeeId(@Param("employeeId") Long employeeId);
+
+    List<ShiftAssignment> findByEmployeeIdOrderByEffectiveFromAsc(Long employeeId);
+}
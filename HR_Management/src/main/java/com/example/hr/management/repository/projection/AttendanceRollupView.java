@@ -0,0 +1,28 @@
+package com.example.hr.management.repository.projection;
+
+import java.time.LocalDate;
+
+public interface AttendanceRollupView {
+
+    Long getEmployeeId();
+
+    String getEmployeeFirstName();
+
+    String getEmployeeLastName();
+
+    LocalDate getMonthStart();
+
+    Long getPresentDays();
+
+    Long getAbsentDays();
+
+    Long getHalfDays();
+
+    Long getLeaveDays();
+
+    Long getLateDays();
+
+    Long getTotalDays();
+
+    Double getTotalWorkingHours();
+}
@@ -0,0 +1,17 @@
+package com.example.hr.management.repository.projection;
+
+// One row per attendance status for an employee and date range
+public interface AttendanceStatusTotals {
+
+    String getStatus();
+
+    String getEmployeeFirstName();
+
+    String getEmployeeLastName();
+
+    Long getDays();
+
+    Long getLateDays();
+
+    Double getWorkingHours();
+}
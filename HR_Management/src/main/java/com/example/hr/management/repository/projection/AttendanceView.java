@@ -0,0 +1,39 @@
+package com.example.hr.management.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// Attendance row plus the three employee columns the response needs
+public interface AttendanceView {
+
+    Long getId();
+
+    Long getEmployeeId();
+
+    String getEmployeeFirstName();
+
+    String getEmployeeLastName();
+
+    String getEmployeeCode();
+
+    LocalDate getAttendanceDate();
+
+    LocalTime getClockInTime();
+
+    LocalTime getClockOutTime();
+
+    String getStatus();
+
+    String getRemarks();
+
+    Double getWorkingHours();
+
+    Boolean getIsLate();
+
+    Integer getLateMinutes();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
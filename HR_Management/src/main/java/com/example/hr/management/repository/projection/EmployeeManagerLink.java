@@ -0,0 +1,8 @@
+package com.example.hr.management.repository.projection;
+
+public interface EmployeeManagerLink {
+
+    Long getId();
+
+    Long getManagerId();
+}
@@ -0,0 +1,10 @@
+package com.example.hr.management.repository.projection;
+
+public interface EmployeeNameView {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+}
@@ -0,0 +1,14 @@
+package com.example.hr.management.repository.projection;
+
+public interface EmployeeSearchView {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getEmployeeCode();
+}
@@ -0,0 +1,36 @@
+package com.example.hr.management.repository.projection;
+
+import java.time.LocalDate;
+
+public interface EmployeeSummaryView {
+
+    Long getId();
+
+    String getEmployeeCode();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getPhoneNumber();
+
+    String getDepartment();
+
+    String getDesignation();
+
+    String getEmploymentType();
+
+    String getEmploymentStatus();
+
+    LocalDate getJoiningDate();
+
+    Double getBasicSalary();
+
+    Long getManagerId();
+
+    String getProfileImageHash();
+
+    Long getUserId();
+}
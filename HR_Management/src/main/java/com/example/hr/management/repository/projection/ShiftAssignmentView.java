@@ -0,0 +1,16 @@
+package com.example.hr.management.repository.projection;
+
+import java.time.LocalDate;
+
+public interface ShiftAssignmentView {
+
+    Long getId();
+
+    Long getEmployeeId();
+
+    String getRotation();
+
+    LocalDate getEffectiveFrom();
+
+    LocalDate getEffectiveTo();
+}
@@ -0,0 +1,14 @@
+package com.example.hr.management.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Cheap aggregate used to derive ETags without loading the rows themselves
+public interface VersionFingerprint {
+
+    Long getRowCount();
+
+    LocalDateTime getLastUpdated();
+
+    // Latest updatedAt of the joined rows whose fields are copied into the DTO (names, codes, usernames)
+    LocalDateTime getRelatedUpdated();
+}
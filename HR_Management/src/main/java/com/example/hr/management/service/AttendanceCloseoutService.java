@@ -0,0 +1,15 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.AttendanceCloseoutResultDTO;
+
+import java.time.LocalDate;
+
+public interface AttendanceCloseoutService {
+
+    /**
+     * Closes out a finished day: records left without a clock-out get the configured auto clock-out
+     * time, and on working days active employees with neither attendance nor approved leave are
+     * marked ABSENT. Safe to re-run for the same date.
+     */
+    AttendanceCloseoutResultDTO closeDay(LocalDate date);
+}
@@ -0,0 +1,44 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.AttendanceEventDTO;
+import com.example.hr.management.dto.AttendanceReplayResultDTO;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+public interface AttendanceEventLog {
+
+    String CLOCK_IN = "CLOCK_IN";
+    String CLOCK_OUT = "CLOCK_OUT";
+    String MARK = "MARK";
+    String CORRECTION = "CORRECTION";
+    String DELETE = "DELETE";
+    String AUTO_ABSENT = "AUTO_ABSENT";
+    String AUTO_CLOCK_OUT = "AUTO_CLOCK_OUT";
+    String BASELINE = "BASELINE";
+
+    /**
+     * Appends one event per key holding the attendance row as it stands now. Must run inside the
+     * transaction that wrote the rows (after they are flushed), so the log and the table commit
+     * together. For DELETE, call it before the row is removed.
+     */
+    void append(String eventType, Collection<EventKey> keys);
+
+    default void append(String eventType, Long employeeId, LocalDate date) {
+        append(eventType, List.of(new EventKey(employeeId, date)));
+    }
+
+    List<AttendanceEventDTO> getHistory(Long employeeId, LocalDate date);
+
+    /**
+     * Rebuilds the attendance rows of each month in the range from the log (latest event per
+     * employee and day wins, DELETE removes), then refreshes the derived rollups. Months are
+     * replayed in parallel, each in its own transaction.
+     */
+    AttendanceReplayResultDTO replay(YearMonth from, YearMonth to);
+
+    record EventKey(Long employeeId, LocalDate date) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.hr.management.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public interface AttendanceHeatmapIndex {
+
+    // Statuses with a bitset of their own, plus LATE; any other status only clears the day
+    List<String> STATUSES = List.of("PRESENT", "ABSENT", "HALF_DAY", "LEAVE", "HOLIDAY");
+    String LATE = "LATE";
+
+    // Sets the day for the employee to the given status, replacing whatever was there
+    void record(Long employeeId, LocalDate date, String status, boolean late);
+
+    void remove(Long employeeId, LocalDate date);
+
+    // Drops every loaded year; each is reloaded from attendance on its next read
+    void invalidateAll();
+
+    /**
+     * Bitset words per status (and LATE) for the employee's year, bit i of the concatenated words
+     * being day-of-year i + 1. Empty when the employee has no attendance that year.
+     */
+    Map<String, long[]> yearBits(Long employeeId, int year);
+}
@@ -0,0 +1,27 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.AttendanceResponseDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Fan-out of committed attendance changes to open live boards. A subscriber gets a "snapshot"
+ * event with the day's rows, then "upsert" and "remove" deltas for that day only. Publishing never
+ * blocks the caller: events are queued, fanned out to a send queue per subscriber, and written by
+ * a small sender pool, so one slow client never holds up the others.
+ */
+public interface AttendanceLiveHub {
+
+    // The snapshot is loaded after the subscriber is registered, so no committed change falls between the two
+    SseEmitter subscribe(LocalDate date, Supplier<List<AttendanceResponseDTO>> snapshot);
+
+    void publishUpsert(AttendanceResponseDTO attendance);
+
+    void publishRemoval(Long attendanceId, Long employeeId, LocalDate date);
+
+    // For writes not worth sending row by row (bulk marks, close-out, replay): boards for the day get a fresh snapshot
+    void publishReset(LocalDate date);
+}
@@ -0,0 +1,26 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.AttendancePartitionDTO;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface AttendancePartitionService {
+
+    // Converts attendance to a partitioned table if needed and creates the upcoming monthly partitions
+    void ensurePartitions();
+
+    List<AttendancePartitionDTO> listPartitions();
+
+    /**
+     * Detaches every monthly partition that ends before the given month and renames it to
+     * attendance_archive_yYYYYmMM. Returns the archive table names.
+     */
+    List<String> archivePartitionsBefore(YearMonth before);
+
+    // True once the month has been detached into an attendance_archive_* table
+    boolean isArchived(YearMonth month);
+
+    // The table holding the month's rows: its partition, the DEFAULT partition, or attendance if unpartitioned
+    String relationFor(YearMonth month);
+}
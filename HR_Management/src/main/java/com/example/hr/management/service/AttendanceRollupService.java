@@ -0,0 +1,30 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.AttendanceSummaryDTO;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+public interface AttendanceRollupService {
+
+    // Recomputes the rollup rows for the given employee/month pairs from raw attendance
+    void refresh(Collection<RollupKey> keys);
+
+    default void refresh(Long employeeId, LocalDate date) {
+        refresh(List.of(RollupKey.of(employeeId, date)));
+    }
+
+    // Recomputes every month and drops rows whose attendance is gone
+    void rebuild();
+
+    List<AttendanceSummaryDTO> getMonthlyReport(YearMonth month);
+
+    record RollupKey(Long employeeId, LocalDate monthStart) {
+
+        public static RollupKey of(Long employeeId, LocalDate date) {
+            return new RollupKey(employeeId, date.withDayOfMonth(1));
+        }
+    }
+}
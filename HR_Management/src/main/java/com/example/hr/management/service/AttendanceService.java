@@ -1,8 +1,10 @@
 package com.example.hr.management.service;
 
+import com.example.hr.management.dto.AttendanceHeatmapDTO;
 import com.example.hr.management.dto.AttendanceRequestDTO;
 import com.example.hr.management.dto.AttendanceResponseDTO;
 import com.example.hr.management.dto.AttendanceSummaryDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -30,4 +32,10 @@ public interface AttendanceService {
     AttendanceSummaryDTO getAttendanceSummary(Long employeeId, LocalDate startDate, LocalDate endDate);
     
     void deleteAttendance(Long id);
+
+    // Exactly one of employeeId or department
+    AttendanceHeatmapDTO getHeatmap(int year, Long employeeId, String department);
+
+    // Snapshot of the day's attendance, then clock-in/out and correction deltas as they commit
+    SseEmitter subscribeLiveBoard(LocalDate date);
 }
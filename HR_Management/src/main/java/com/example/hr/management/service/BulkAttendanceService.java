@@ -0,0 +1,11 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.AttendanceRequestDTO;
+import com.example.hr.management.dto.BulkAttendanceResultDTO;
+
+import java.util.List;
+
+public interface BulkAttendanceService {
+
+    BulkAttendanceResultDTO markAttendance(List<AttendanceRequestDTO> records);
+}
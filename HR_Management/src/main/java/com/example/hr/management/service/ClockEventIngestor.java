@@ -0,0 +1,25 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.AttendanceResponseDTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Write path for clock-in/clock-out. Calls block until the event has been committed as part of
+ * a group batch, so the response is as durable as a direct save.
+ */
+public interface ClockEventIngestor {
+
+    default AttendanceResponseDTO clockIn(Long employeeId) {
+        return clockIn(employeeId, LocalDateTime.now());
+    }
+
+    default AttendanceResponseDTO clockOut(Long employeeId) {
+        return clockOut(employeeId, LocalDateTime.now());
+    }
+
+    AttendanceResponseDTO clockIn(Long employeeId, LocalDateTime at);
+
+    // Closes today's open row, or last night's when today has none and yesterday's shift ran past midnight
+    AttendanceResponseDTO clockOut(Long employeeId, LocalDateTime at);
+}
@@ -0,0 +1,26 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.EmployeeResponseDTO;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of employee profiles. Cached DTOs are shared between callers and must
+ * not be mutated.
+ */
+public interface EmployeeCache {
+
+    EmployeeResponseDTO getById(Long id, Supplier<EmployeeResponseDTO> loader);
+
+    EmployeeResponseDTO getByUserId(Long userId, Supplier<EmployeeResponseDTO> loader);
+
+    EmployeeResponseDTO getByCode(String employeeCode, Supplier<EmployeeResponseDTO> loader);
+
+    // Drops the employee and every cached report whose managerName was derived from it
+    void invalidate(Long employeeId);
+
+    void invalidateAll();
+
+    Map<String, Object> stats();
+}
@@ -0,0 +1,10 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.BulkImportResultDTO;
+
+import java.io.InputStream;
+
+public interface EmployeeImportService {
+
+    BulkImportResultDTO importEmployeesCsv(InputStream csv);
+}
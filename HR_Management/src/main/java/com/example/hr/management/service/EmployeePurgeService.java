@@ -0,0 +1,10 @@
+package com.example.hr.management.service;
+
+public interface EmployeePurgeService {
+
+    /**
+     * Hard-deletes the dependent rows of soft-deleted employees and drops employee tombstones
+     * older than the change-feed retention. Returns the number of employees whose dependents were purged.
+     */
+    int purgeDeletedEmployees();
+}
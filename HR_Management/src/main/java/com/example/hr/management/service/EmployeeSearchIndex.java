@@ -0,0 +1,17 @@
+package com.example.hr.management.service;
+
+import java.util.List;
+
+public interface EmployeeSearchIndex {
+
+    boolean isReady();
+
+    void rebuild();
+
+    void index(Long employeeId, String firstName, String lastName, String email, String employeeCode);
+
+    void remove(Long employeeId);
+
+    // Ranked employee ids, best match first
+    List<Long> search(String keyword, int limit);
+}
@@ -1,10 +1,15 @@
 package com.example.hr.management.service;
 
+import com.example.hr.management.dto.CursorPageDTO;
+import com.example.hr.management.dto.EmployeeChangesDTO;
 import com.example.hr.management.dto.EmployeeRequestDTO;
 import com.example.hr.management.dto.EmployeeResponseDTO;
+import com.example.hr.management.dto.EmployeeSummaryDTO;
 import com.example.hr.management.dto.ProfileUpdateRequestDTO;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
@@ -24,14 +29,33 @@ public interface EmployeeService {
 
     List<EmployeeResponseDTO> getAllEmployees();
 
+    List<EmployeeSummaryDTO> getEmployeeSummaries(String department, String status);
+
+    CursorPageDTO<EmployeeResponseDTO> getEmployeePage(String cursor, int size, String sort);
+
+    // Employees created, updated or deleted after the watermark; null since starts a full initial sync
+    EmployeeChangesDTO getEmployeeChanges(String since, int limit);
+
+    void streamAllEmployees(Consumer<EmployeeResponseDTO> consumer);
+
     List<EmployeeResponseDTO> getEmployeesByDepartment(String department);
 
     List<EmployeeResponseDTO> getEmployeesByStatus(String status);
 
-    List<EmployeeResponseDTO> searchEmployees(String keyword);
+    List<EmployeeResponseDTO> searchEmployees(String keyword, int limit);
+
+    List<EmployeeSummaryDTO> getAllReports(Long managerId);
+
+    List<EmployeeSummaryDTO> getReportingChain(Long employeeId);
+
+    boolean isInReportingLine(Long managerId, Long employeeId);
+
+    int getReportingDepth(Long employeeId);
 
     void deleteEmployee(Long id);
 
+    Map<String, Object> getCacheStats();
+
     Long getActiveEmployeeCount();
 
     Long getEmployeeCountByDepartment(String department);
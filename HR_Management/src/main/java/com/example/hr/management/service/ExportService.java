@@ -0,0 +1,14 @@
+package com.example.hr.management.service;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ExportService {
+
+    String FORMAT_CSV = "csv";
+    String FORMAT_NDJSON = "ndjson";
+
+    void exportEmployees(String format, OutputStream outputStream);
+
+    void exportAttendance(LocalDate from, LocalDate to, String format, OutputStream outputStream);
+}
@@ -0,0 +1,24 @@
+package com.example.hr.management.service;
+
+public interface HeadcountRegistry {
+
+    boolean isReady();
+
+    void rebuild();
+
+    // Called inside the writing transaction; its result goes to the adjust made after that write commits
+    long transactionId();
+
+    // The adjust methods run after the write commits; a null department or status is a bucket of its own
+
+    void created(long transactionId, String department, String employmentStatus);
+
+    // Moves one employee between (department, status) buckets
+    void moved(long transactionId, String oldDepartment, String oldStatus, String newDepartment, String newStatus);
+
+    void removed(long transactionId, String department, String employmentStatus);
+
+    long countByStatus(String employmentStatus);
+
+    long countByDepartment(String department);
+}
@@ -0,0 +1,18 @@
+package com.example.hr.management.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    String HEADER = "Idempotency-Key";
+    String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Runs the action at most once per caller and key. A retry with the same key and request gets
+     * the stored 2xx response back; a duplicate arriving while the first is still running waits for
+     * it. Failures are not stored, so they can be retried. A null key just runs the action.
+     */
+    <T> ResponseEntity<T> execute(String key, String operation, Object request, Supplier<ResponseEntity<T>> action);
+}
@@ -0,0 +1,22 @@
+package com.example.hr.management.service;
+
+import java.nio.file.Path;
+
+public interface ProfileImageStorageService {
+
+    String URL_PREFIX = "/api/employees/profile-images/";
+
+    // Stores the image under its SHA-256 content hash and returns the hash
+    String store(byte[] content);
+
+    // Accepts a raw base64 string or a data URL (data:image/png;base64,...)
+    String storeBase64(String base64Image);
+
+    Path locate(String hash);
+
+    String detectContentType(byte[] header);
+
+    static String urlFor(String hash) {
+        return hash != null ? URL_PREFIX + hash : null;
+    }
+}
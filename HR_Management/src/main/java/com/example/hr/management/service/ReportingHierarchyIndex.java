@@ -0,0 +1,27 @@
+package com.example.hr.management.service;
+
+import java.util.List;
+
+public interface ReportingHierarchyIndex {
+
+    void rebuild();
+
+    void setManager(Long employeeId, Long managerId);
+
+    void remove(Long employeeId);
+
+    // True when employeeId sits anywhere below managerId, as of the last published tour
+    boolean isInSubtree(Long managerId, Long employeeId);
+
+    // True when making newManagerId the employee's manager would close a loop; reads the latest edges
+    boolean wouldCreateCycle(Long employeeId, Long newManagerId);
+
+    // 0 for employees without a manager
+    int depth(Long employeeId);
+
+    // Every direct and indirect report, in depth-first order
+    List<Long> allReports(Long managerId);
+
+    // Managers from the direct manager up to the top of the tree
+    List<Long> reportingChain(Long employeeId);
+}
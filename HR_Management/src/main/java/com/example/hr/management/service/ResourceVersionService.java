@@ -0,0 +1,31 @@
+package com.example.hr.management.service;
+
+import java.time.LocalDate;
+
+/**
+ * Strong ETags for read endpoints, computed from a count/max(updated_at) query so a matching
+ * If-None-Match can be answered before any entity is loaded. Single-resource methods return
+ * null when the row does not exist.
+ */
+public interface ResourceVersionService {
+
+    String employeeETag(Long id);
+
+    String employeeByUserIdETag(Long userId);
+
+    String employeeByCodeETag(String employeeCode);
+
+    String employeesETag();
+
+    String attendanceETag(Long id);
+
+    String employeeAttendanceETag(Long employeeId);
+
+    String employeeAttendanceETag(Long employeeId, LocalDate startDate, LocalDate endDate);
+
+    String attendanceByDateETag(LocalDate date);
+
+    String payrollETag(Long id);
+
+    String employeePayrollsETag(Long employeeId);
+}
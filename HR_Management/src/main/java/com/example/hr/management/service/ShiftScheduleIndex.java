@@ -0,0 +1,38 @@
+package com.example.hr.management.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+public interface ShiftScheduleIndex {
+
+    void rebuild();
+
+    // The shift the employee is rostered for on the date, the office default when unrostered, null on a day off
+    ExpectedShift expectedShift(Long employeeId, LocalDate date);
+
+    // Employees with a roster covering the date, whether it gives them a shift or a day off
+    Set<Long> rosteredOn(LocalDate date);
+
+    // Minutes past the shift start for a late clock-in, or null when on time (within grace) or off duty
+    default Integer lateMinutes(Long employeeId, LocalDate date, LocalTime clockIn) {
+        ExpectedShift shift = clockIn != null ? expectedShift(employeeId, date) : null;
+        if (shift == null) {
+            return null;
+        }
+        long lateNanos = clockIn.toNanoOfDay() - shift.start().toNanoOfDay();
+        // Clocking in after midnight on a shift that started the evening before
+        if (shift.overnight() && clockIn.isBefore(shift.end())) {
+            lateNanos += LocalTime.MAX.toNanoOfDay() + 1;
+        }
+        long graceNanos = shift.graceMinutes() * 60_000_000_000L;
+        return lateNanos > graceNanos ? (int) (lateNanos / 60_000_000_000L) : null;
+    }
+
+    record ExpectedShift(Long shiftId, String name, LocalTime start, LocalTime end, int graceMinutes) {
+
+        public boolean overnight() {
+            return end.isBefore(start);
+        }
+    }
+}
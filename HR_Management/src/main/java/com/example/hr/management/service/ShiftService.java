@@ -0,0 +1,27 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.ShiftAssignmentDTO;
+import com.example.hr.management.dto.ShiftDTO;
+
+import java.util.List;
+
+public interface ShiftService {
+
+    List<ShiftDTO> getAllShifts();
+
+    ShiftDTO createShift(ShiftDTO shiftDTO);
+
+    ShiftDTO updateShift(Long id, ShiftDTO shiftDTO);
+
+    void deleteShift(Long id);
+
+    /**
+     * Puts an employee on a roster from effectiveFrom onward. A roster already running on that
+     * date is closed the day before; one starting later that would overlap is rejected.
+     */
+    ShiftAssignmentDTO assignRoster(ShiftAssignmentDTO assignmentDTO);
+
+    List<ShiftAssignmentDTO> getEmployeeRosters(Long employeeId);
+
+    void deleteRoster(Long id);
+}
@@ -0,0 +1,245 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.dto.AttendanceCloseoutResultDTO;
+import com.example.hr.management.exception.BadRequestException;
+import com.example.hr.management.service.AttendanceCloseoutService;
+import com.example.hr.management.service.AttendanceEventLog;
+import com.example.hr.management.service.AttendanceEventLog.EventKey;
+import com.example.hr.management.service.AttendanceHeatmapIndex;
+import com.example.hr.management.service.AttendanceLiveHub;
+import com.example.hr.management.service.AttendanceRollupService;
+import com.example.hr.management.service.AttendanceRollupService.RollupKey;
+import com.example.hr.management.service.ShiftScheduleIndex;
+import com.example.hr.management.service.ShiftScheduleIndex.ExpectedShift;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * End-of-day attendance close-out. Both steps are single set-based statements run once per
+ * department, each in its own transaction, so no step ever loads employees into memory and a
+ * large department cannot hold locks across the whole company. Office hours and the configured
+ * working days apply only to employees without a roster; rostered employees are marked absent on
+ * the days their roster gives them a shift and auto clocked out at that shift's end. A shift that
+ * runs past midnight is closed by the following day's close-out, once it has ended.
+ */
+@Slf4j
+@Service
+public class AttendanceCloseoutServiceImpl implements AttendanceCloseoutService {
+
+    private static final String ABSENT_REMARK = "Auto-marked absent: no attendance recorded";
+    private static final String AUTO_CLOCK_OUT_REMARK = "Auto clock-out";
+
+    // ON CONFLICT keeps a concurrent clock-in or manual mark from failing the department
+    private static final String MARK_ABSENT_SQL = "INSERT INTO attendance (employee_id, attendance_date, status, " +
+            "is_late, remarks, created_at, updated_at) " +
+            "SELECT e.id, CAST(? AS DATE), 'ABSENT', FALSE, CAST(? AS VARCHAR), CAST(? AS TIMESTAMP), " +
+            "CAST(? AS TIMESTAMP) FROM employees e " +
+            "WHERE e.deleted_at IS NULL AND e.employment_status = 'ACTIVE' " +
+            "AND e.department IS NOT DISTINCT FROM ? " +
+            "AND (e.id = ANY(CAST(? AS BIGINT[])) OR (CAST(? AS BOOLEAN) AND e.id <> ALL(CAST(? AS BIGINT[])))) " +
+            "AND (e.joining_date IS NULL OR e.joining_date <= ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM attendance a WHERE a.employee_id = e.id AND a.attendance_date = ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM leaves l WHERE l.employee_id = e.id AND l.status = 'APPROVED' " +
+            "AND l.from_date <= ? AND l.to_date >= ?) " +
+            "ON CONFLICT (employee_id, attendance_date) DO NOTHING RETURNING employee_id";
+
+    // Someone who clocked in after the cut-off is closed at their clock-in time with zero hours
+    private static final String AUTO_CLOCK_OUT_SQL = "UPDATE attendance a SET " +
+            "clock_out_time = GREATEST(CAST(? AS TIME), a.clock_in_time), " +
+            "working_hours = ROUND(CAST(TRUNC(EXTRACT(EPOCH FROM " +
+            "(GREATEST(CAST(? AS TIME), a.clock_in_time) - a.clock_in_time)) / 60) / 60.0 AS NUMERIC), 2), " +
+            "remarks = LEFT(COALESCE(a.remarks || '; ', '') || ?, 500), updated_at = ? " +
+            "FROM employees e WHERE e.id = a.employee_id AND e.department IS NOT DISTINCT FROM ? " +
+            "AND a.attendance_date = ? AND a.clock_in_time IS NOT NULL AND a.clock_out_time IS NULL " +
+            "AND a.employee_id <> ALL(CAST(? AS BIGINT[])) RETURNING a.employee_id";
+
+    // Rostered rows close at their own shift end, which for an overnight shift is on the next day
+    private static final String SHIFT_END_CLOCK_OUT_SQL = "UPDATE attendance a SET " +
+            "clock_out_time = CAST(GREATEST(v.clock_out_date + v.clock_out, a.attendance_date + a.clock_in_time) AS TIME), " +
+            "working_hours = ROUND(CAST(TRUNC(EXTRACT(EPOCH FROM (GREATEST(v.clock_out_date + v.clock_out, " +
+            "a.attendance_date + a.clock_in_time) - (a.attendance_date + a.clock_in_time))) / 60) / 60.0 AS NUMERIC), 2), " +
+            "remarks = LEFT(COALESCE(a.remarks || '; ', '') || ?, 500), updated_at = ? FROM (VALUES ";
+
+    private static final String SHIFT_END_ROW = "(CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS TIME))";
+
+    private static final String SHIFT_END_WHERE = ") AS v(employee_id, clock_out_date, clock_out) " +
+            "WHERE a.employee_id = v.employee_id AND a.attendance_date = ? " +
+            "AND a.clock_in_time IS NOT NULL AND a.clock_out_time IS NULL RETURNING a.employee_id";
+
+    private static final String OPEN_ROWS_SQL = "SELECT employee_id FROM attendance WHERE attendance_date = ? " +
+            "AND clock_in_time IS NOT NULL AND clock_out_time IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AttendanceRollupService attendanceRollupService;
+    private final AttendanceHeatmapIndex attendanceHeatmapIndex;
+    private final AttendanceEventLog attendanceEventLog;
+    private final AttendanceLiveHub attendanceLiveHub;
+    private final ShiftScheduleIndex shiftScheduleIndex;
+    private final LocalTime autoClockOutTime;
+    private final Set<DayOfWeek> workingDays;
+
+    public AttendanceCloseoutServiceImpl(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            AttendanceRollupService attendanceRollupService,
+            AttendanceHeatmapIndex attendanceHeatmapIndex,
+            AttendanceEventLog attendanceEventLog,
+            AttendanceLiveHub attendanceLiveHub,
+            ShiftScheduleIndex shiftScheduleIndex,
+            @Value("${hr.attendance-closeout.auto-clock-out-time:18:00}") String autoClockOutTime,
+            @Value("${hr.attendance-closeout.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}")
+            List<DayOfWeek> workingDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.attendanceRollupService = attendanceRollupService;
+        this.attendanceHeatmapIndex = attendanceHeatmapIndex;
+        this.attendanceEventLog = attendanceEventLog;
+        this.attendanceLiveHub = attendanceLiveHub;
+        this.shiftScheduleIndex = shiftScheduleIndex;
+        this.autoClockOutTime = LocalTime.parse(autoClockOutTime);
+        this.workingDays = EnumSet.noneOf(DayOfWeek.class);
+        this.workingDays.addAll(workingDays);
+    }
+
+    // Runs after midnight so late clock-outs for the previous day have landed
+    @Scheduled(cron = "${hr.attendance-closeout.cron:0 15 0 * * *}")
+    public void scheduledCloseout() {
+        AttendanceCloseoutResultDTO result = closeDay(LocalDate.now().minusDays(1));
+        log.info("Attendance close-out for {}: {} auto clock-outs, {} marked absent", result.getDate(),
+                result.getAutoClockedOut(), result.getAbsentMarked());
+    }
+
+    @Override
+    public AttendanceCloseoutResultDTO closeDay(LocalDate date) {
+        if (date == null || !date.isBefore(LocalDate.now())) {
+            throw new BadRequestException("Only a past date can be closed out");
+        }
+        Date day = Date.valueOf(date);
+        Time cutOff = Time.valueOf(autoClockOutTime);
+
+        // Rostered employees with a shift on the day follow their roster; everyone else keeps office hours
+        Set<Long> rostered = shiftScheduleIndex.rosteredOn(date);
+        Long[] scheduled = rostered.stream()
+                .filter(employeeId -> shiftScheduleIndex.expectedShift(employeeId, date) != null)
+                .toArray(Long[]::new);
+        Long[] rosteredIds = rostered.toArray(new Long[0]);
+
+        long autoClockedOut = 0;
+        List<String> openDepartments = jdbcTemplate.queryForList(
+                "SELECT DISTINCT e.department FROM attendance a JOIN employees e ON e.id = a.employee_id " +
+                        "WHERE a.attendance_date = ? AND a.clock_in_time IS NOT NULL AND a.clock_out_time IS NULL",
+                String.class, day);
+        for (String department : openDepartments) {
+            autoClockedOut += runForDepartment(date, department, AttendanceEventLog.AUTO_CLOCK_OUT, AUTO_CLOCK_OUT_SQL,
+                    cutOff, cutOff, AUTO_CLOCK_OUT_REMARK, now(), department, day, scheduled).size();
+        }
+        autoClockedOut += closeAtShiftEnd(date, false);
+        // Yesterday's overnight shifts ended this morning
+        long overnightClosed = closeAtShiftEnd(date.minusDays(1), true);
+
+        long absentMarked = 0;
+        boolean workingDay = workingDays.contains(date.getDayOfWeek());
+        if (workingDay || scheduled.length > 0) {
+            List<String> departments = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT department FROM employees WHERE deleted_at IS NULL AND employment_status = 'ACTIVE'",
+                    String.class);
+            for (String department : departments) {
+                Timestamp now = now();
+                List<Long> marked = runForDepartment(date, department, AttendanceEventLog.AUTO_ABSENT, MARK_ABSENT_SQL,
+                        day, ABSENT_REMARK, now, now, department, scheduled, workingDay, rosteredIds, day, day, day, day);
+                marked.forEach(employeeId -> attendanceHeatmapIndex.record(employeeId, date, "ABSENT", false));
+                absentMarked += marked.size();
+            }
+        }
+
+        if (autoClockedOut + absentMarked > 0) {
+            attendanceLiveHub.publishReset(date);
+        }
+        if (overnightClosed > 0) {
+            attendanceLiveHub.publishReset(date.minusDays(1));
+        }
+
+        return AttendanceCloseoutResultDTO.builder()
+                .date(date)
+                .workingDay(workingDay)
+                .absentMarked(absentMarked)
+                .autoClockedOut(autoClockedOut + overnightClosed)
+                .build();
+    }
+
+    // Rostered rows still open on the date, closed at their shift end; overnight picks the shifts that ran past midnight
+    private long closeAtShiftEnd(LocalDate date, boolean overnight) {
+        Set<Long> rostered = shiftScheduleIndex.rosteredOn(date);
+        if (rostered.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(SHIFT_END_CLOCK_OUT_SQL);
+        List<Object> params = new ArrayList<>();
+        params.add(AUTO_CLOCK_OUT_REMARK);
+        params.add(now());
+        int rows = 0;
+        for (Long employeeId : jdbcTemplate.queryForList(OPEN_ROWS_SQL, Long.class, Date.valueOf(date))) {
+            ExpectedShift shift = rostered.contains(employeeId) ? shiftScheduleIndex.expectedShift(employeeId, date) : null;
+            if (shift == null || shift.overnight() != overnight) {
+                continue;
+            }
+            sql.append(rows++ == 0 ? "" : ", ").append(SHIFT_END_ROW);
+            params.add(employeeId);
+            params.add(Date.valueOf(overnight ? date.plusDays(1) : date));
+            params.add(Time.valueOf(shift.end()));
+        }
+        if (rows == 0) {
+            return 0;
+        }
+        sql.append(SHIFT_END_WHERE);
+        params.add(Date.valueOf(date));
+        return runForDepartment(date, "(rostered)", AttendanceEventLog.AUTO_CLOCK_OUT, sql.toString(),
+                params.toArray()).size();
+    }
+
+    // Returns the employees whose rows were written; a failing department is logged and left for a re-run
+    private List<Long> runForDepartment(LocalDate date, String department, String eventType, String sql,
+            Object... params) {
+        List<Long> employeeIds;
+        try {
+            employeeIds = transactionTemplate.execute(status -> {
+                List<Long> written = jdbcTemplate.queryForList(sql, Long.class, params);
+                attendanceEventLog.append(eventType, written.stream().map(id -> new EventKey(id, date)).toList());
+                return written;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Attendance close-out for {} failed in department {}: {}", date, department,
+                    e.getMostSpecificCause().getMessage());
+            return List.of();
+        }
+        if (!employeeIds.isEmpty()) {
+            attendanceRollupService.refresh(employeeIds.stream()
+                    .map(id -> RollupKey.of(id, date))
+                    .collect(Collectors.toList()));
+        }
+        return employeeIds;
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
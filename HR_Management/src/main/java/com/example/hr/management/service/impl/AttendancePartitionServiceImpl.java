@@ -0,0 +1,275 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.dto.AttendancePartitionDTO;
+import com.example.hr.management.exception.BadRequestException;
+import com.example.hr.management.service.AttendancePartitionService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps attendance as a table range-partitioned by attendance_date, one partition per month
+ * (attendance_yYYYYmMM) plus a DEFAULT partition for dates outside the prepared range. Date-bounded
+ * queries are pruned to the months they touch, and old months can be detached as plain tables,
+ * which is a catalog change rather than a bulk DELETE.
+ *
+ * Hibernate creates attendance as an ordinary table on a fresh schema; the first startup after
+ * that converts it in place (one transaction, rows copied once). Every schema change here runs
+ * under one transaction-scoped advisory lock and re-checks the catalog after taking it, so
+ * instances starting or running maintenance together do the work once.
+ */
+@Slf4j
+@Service
+@DependsOn("entityManagerFactory")
+public class AttendancePartitionServiceImpl implements AttendancePartitionService {
+
+    private static final String PARENT = "attendance";
+    private static final String DEFAULT_PARTITION = "attendance_default";
+    private static final String UNPARTITIONED = "attendance_unpartitioned";
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("attendance_y(\\d{4})m(\\d{2})");
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('attendance_partitions'))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public AttendancePartitionServiceImpl(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${hr.attendance-partitions.months-ahead:3}") int monthsAhead,
+            @Value("${hr.attendance-partitions.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = Math.max(1, monthsAhead);
+        this.retentionMonths = Math.max(0, retentionMonths);
+    }
+
+    // Before the web server starts, so no request sees the table mid-conversion
+    @PostConstruct
+    public void initialize() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${hr.attendance-partitions.maintenance-cron:0 0 1 * * *}")
+    public void scheduledMaintenance() {
+        ensurePartitions();
+        if (retentionMonths > 0) {
+            List<String> archived = archivePartitionsBefore(YearMonth.now().minusMonths(retentionMonths));
+            if (!archived.isEmpty()) {
+                log.info("Archived attendance partitions {}", archived);
+            }
+        }
+    }
+
+    @Override
+    public void ensurePartitions() {
+        String kind = relkind();
+        if ("r".equals(kind)) {
+            convertToPartitioned();
+        } else if (!"p".equals(kind)) {
+            return;
+        }
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            ensureMonth(current.plusMonths(i));
+        }
+    }
+
+    @Override
+    public List<AttendancePartitionDTO> listPartitions() {
+        return jdbcTemplate.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound, " +
+                        "CAST(GREATEST(c.reltuples, 0) AS BIGINT) AS estimated_rows, " +
+                        "pg_total_relation_size(c.oid) AS total_bytes " +
+                        "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = CAST(? AS regclass) ORDER BY c.relname",
+                (rs, rowNum) -> AttendancePartitionDTO.builder()
+                        .name(rs.getString("relname"))
+                        .bound(rs.getString("bound"))
+                        .estimatedRows(rs.getLong("estimated_rows"))
+                        .totalBytes(rs.getLong("total_bytes"))
+                        .build(),
+                PARENT);
+    }
+
+    @Override
+    public List<String> archivePartitionsBefore(YearMonth before) {
+        if (before == null || before.isAfter(YearMonth.now())) {
+            throw new BadRequestException("Only months before the current month can be archived");
+        }
+        List<String> archived = new ArrayList<>();
+        for (AttendancePartitionDTO partition : listPartitions()) {
+            Matcher matcher = MONTHLY_PARTITION.matcher(partition.getName());
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(before)) {
+                continue;
+            }
+            String archive = "attendance_archive_" + partition.getName().substring(PARENT.length() + 1);
+            Boolean detached = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute(LOCK_SQL);
+                if (!exists(partition.getName())) {
+                    return false;
+                }
+                jdbcTemplate.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + partition.getName());
+                // Archived rows must not block the purge job from deleting their employees
+                for (String fk : foreignKeys(partition.getName())) {
+                    jdbcTemplate.execute("ALTER TABLE " + partition.getName() + " DROP CONSTRAINT \"" + fk + "\"");
+                }
+                jdbcTemplate.execute("ALTER TABLE " + partition.getName() + " RENAME TO " + archive);
+                return true;
+            });
+            if (Boolean.TRUE.equals(detached)) {
+                archived.add(archive);
+            }
+        }
+        return archived;
+    }
+
+    @Override
+    public boolean isArchived(YearMonth month) {
+        return exists("attendance_archive_" + partitionName(month).substring(PARENT.length() + 1));
+    }
+
+    @Override
+    public String relationFor(YearMonth month) {
+        if (!"p".equals(relkind())) {
+            return PARENT;
+        }
+        String name = partitionName(month);
+        return exists(name) ? name : DEFAULT_PARTITION;
+    }
+
+    private void convertToPartitioned() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK_SQL);
+            if (!"r".equals(relkind())) {
+                return; // another instance converted it while we waited
+            }
+            log.info("Converting attendance to a monthly partitioned table");
+            LocalDate first = jdbcTemplate.queryForObject("SELECT MIN(attendance_date) FROM " + PARENT,
+                    LocalDate.class);
+            String identity = jdbcTemplate.queryForObject("SELECT attidentity::text FROM pg_attribute " +
+                    "WHERE attrelid = CAST(? AS regclass) AND attname = 'id'", String.class, PARENT);
+            String serialSequence = jdbcTemplate.queryForObject("SELECT pg_get_serial_sequence(?, 'id')",
+                    String.class, PARENT);
+
+            jdbcTemplate.execute("ALTER TABLE " + PARENT + " RENAME TO " + UNPARTITIONED);
+            // Constraint and index names are reused on the new table
+            for (String constraint : jdbcTemplate.queryForList("SELECT conname FROM pg_constraint " +
+                    "WHERE conrelid = CAST(? AS regclass) AND contype IN ('p', 'u', 'f')", String.class, UNPARTITIONED)) {
+                jdbcTemplate.execute("ALTER TABLE " + UNPARTITIONED + " DROP CONSTRAINT \"" + constraint + "\"");
+            }
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_attendance_date");
+
+            // The partition key must be part of every unique constraint
+            jdbcTemplate.execute("CREATE TABLE " + PARENT + " (LIKE " + UNPARTITIONED +
+                    " INCLUDING DEFAULTS INCLUDING IDENTITY) PARTITION BY RANGE (attendance_date)");
+            jdbcTemplate.execute("ALTER TABLE " + PARENT + " ADD PRIMARY KEY (id, attendance_date)");
+            jdbcTemplate.execute("ALTER TABLE " + PARENT +
+                    " ADD CONSTRAINT unique_emp_date UNIQUE (employee_id, attendance_date)");
+            jdbcTemplate.execute("ALTER TABLE " + PARENT +
+                    " ADD CONSTRAINT fk_attendance_employee FOREIGN KEY (employee_id) REFERENCES employees (id)");
+            jdbcTemplate.execute("CREATE INDEX idx_attendance_date ON " + PARENT + " (attendance_date)");
+            jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + PARENT + " DEFAULT");
+
+            YearMonth month = first != null ? YearMonth.from(first) : YearMonth.now();
+            for (; !month.isAfter(YearMonth.now()); month = month.plusMonths(1)) {
+                createPartition(month);
+            }
+            int copied = jdbcTemplate.update("INSERT INTO " + PARENT + " SELECT * FROM " + UNPARTITIONED);
+
+            // A serial sequence belongs to the old table and would be dropped with it
+            if (identity == null || identity.isEmpty()) {
+                if (serialSequence != null) {
+                    jdbcTemplate.execute("ALTER SEQUENCE " + serialSequence + " OWNED BY " + PARENT + ".id");
+                }
+            }
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), " +
+                    "COALESCE((SELECT MAX(id) FROM " + PARENT + "), 0) + 1, false)", Long.class, PARENT);
+            jdbcTemplate.execute("DROP TABLE " + UNPARTITIONED);
+            log.info("Attendance partitioned by month; {} rows copied", copied);
+        });
+    }
+
+    private void ensureMonth(YearMonth month) {
+        if (exists(partitionName(month))) {
+            return;
+        }
+        Boolean created = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(LOCK_SQL);
+            if (exists(partitionName(month))) {
+                return false;
+            }
+            Boolean stranded = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION +
+                            " WHERE attendance_date >= ? AND attendance_date < ?)", Boolean.class,
+                    Date.valueOf(month.atDay(1)), Date.valueOf(month.plusMonths(1).atDay(1)));
+            if (Boolean.TRUE.equals(stranded)) {
+                moveFromDefault(month);
+            } else {
+                createPartition(month);
+            }
+            return true;
+        });
+        if (Boolean.TRUE.equals(created)) {
+            log.info("Created attendance partition {}", partitionName(month));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + PARENT +
+                " FOR VALUES " + bounds(month));
+    }
+
+    // Postgres refuses a new partition while DEFAULT still holds rows for its range, so move them first
+    private void moveFromDefault(YearMonth month) {
+        String name = partitionName(month);
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + PARENT + " INCLUDING DEFAULTS)");
+        jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                        " WHERE attendance_date >= ? AND attendance_date < ? RETURNING *) " +
+                        "INSERT INTO " + name + " SELECT * FROM moved",
+                Date.valueOf(month.atDay(1)), Date.valueOf(month.plusMonths(1).atDay(1)));
+        jdbcTemplate.execute("ALTER TABLE " + PARENT + " ATTACH PARTITION " + name + " FOR VALUES " + bounds(month));
+    }
+
+    private List<String> foreignKeys(String table) {
+        return jdbcTemplate.queryForList("SELECT conname FROM pg_constraint " +
+                "WHERE conrelid = CAST(? AS regclass) AND contype = 'f'", String.class, table);
+    }
+
+    private String relkind() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE((SELECT c.relkind::text FROM pg_class c " +
+                        "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                        "WHERE c.relname = ? AND n.nspname = current_schema()), '')",
+                String.class, PARENT);
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL",
+                Boolean.class, table));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("%s_y%04dm%02d", PARENT, month.getYear(), month.getMonthValue());
+    }
+
+    private static String bounds(YearMonth month) {
+        return "FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.dto.AttendanceSummaryDTO;
+import com.example.hr.management.repository.AttendanceMonthlyRollupRepository;
+import com.example.hr.management.repository.projection.AttendanceRollupView;
+import com.example.hr.management.service.AttendanceRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps attendance_monthly_rollup in step with raw attendance. Every write re-aggregates only
+ * the touched (employee, month) keys with one INSERT ... SELECT ... ON CONFLICT statement, which
+ * stays correct for inserts, edits and deletes alike. refreshed_at carries the statement time,
+ * so a refresh that read an older snapshot can never overwrite a newer one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceRollupServiceImpl implements AttendanceRollupService {
+
+    private static final int KEYS_PER_STATEMENT = 1000;
+
+    private static final String AGGREGATES = "COUNT(a.id) FILTER (WHERE a.status = 'PRESENT'), " +
+            "COUNT(a.id) FILTER (WHERE a.status = 'ABSENT'), " +
+            "COUNT(a.id) FILTER (WHERE a.status = 'HALF_DAY'), " +
+            "COUNT(a.id) FILTER (WHERE a.status = 'LEAVE'), " +
+            "COUNT(a.id) FILTER (WHERE a.is_late), " +
+            "COUNT(a.id), COALESCE(SUM(a.working_hours), 0), statement_timestamp() ";
+
+    private static final String UPSERT = "INSERT INTO attendance_monthly_rollup (employee_id, month_start, " +
+            "present_days, absent_days, half_days, leave_days, late_days, total_days, total_working_hours, refreshed_at) ";
+
+    private static final String ON_CONFLICT = " ON CONFLICT (employee_id, month_start) DO UPDATE SET " +
+            "present_days = EXCLUDED.present_days, absent_days = EXCLUDED.absent_days, " +
+            "half_days = EXCLUDED.half_days, leave_days = EXCLUDED.leave_days, late_days = EXCLUDED.late_days, " +
+            "total_days = EXCLUDED.total_days, total_working_hours = EXCLUDED.total_working_hours, " +
+            "refreshed_at = EXCLUDED.refreshed_at " +
+            "WHERE attendance_monthly_rollup.refreshed_at <= EXCLUDED.refreshed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AttendanceMonthlyRollupRepository rollupRepository;
+
+    // First deployment: seed the table once if it is empty but attendance exists
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Boolean seeded = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM attendance_monthly_rollup) OR NOT EXISTS (SELECT 1 FROM attendance)",
+                Boolean.class);
+        if (!Boolean.TRUE.equals(seeded)) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${hr.attendance-rollup.rebuild-cron:0 30 2 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @Override
+    public void refresh(Collection<RollupKey> keys) {
+        List<RollupKey> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        for (int from = 0; from < distinct.size(); from += KEYS_PER_STATEMENT) {
+            List<RollupKey> chunk = distinct.subList(from, Math.min(distinct.size(), from + KEYS_PER_STATEMENT));
+            String values = String.join(", ",
+                    Collections.nCopies(chunk.size(), "(CAST(? AS BIGINT), CAST(? AS DATE))"));
+            List<Object> params = new ArrayList<>(chunk.size() * 2);
+            for (RollupKey key : chunk) {
+                params.add(key.employeeId());
+                params.add(Date.valueOf(key.monthStart()));
+            }
+            // LEFT JOIN so a key whose rows were all deleted is written back as zeros
+            String sql = UPSERT + "SELECT k.employee_id, k.month_start, " + AGGREGATES +
+                    "FROM (VALUES " + values + ") AS k(employee_id, month_start) " +
+                    "LEFT JOIN attendance a ON a.employee_id = k.employee_id " +
+                    "AND a.attendance_date >= k.month_start " +
+                    "AND a.attendance_date < CAST(k.month_start + INTERVAL '1 month' AS DATE) " +
+                    "GROUP BY k.employee_id, k.month_start" + ON_CONFLICT;
+            try {
+                jdbcTemplate.update(sql, params.toArray());
+            } catch (DataAccessException e) {
+                // The nightly rebuild repairs anything missed here
+                log.warn("Attendance rollup refresh failed for {} keys: {}", chunk.size(),
+                        e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        List<LocalDate> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(date_trunc('month', attendance_date) AS DATE) FROM attendance ORDER BY 1",
+                LocalDate.class);
+        // One statement per month keeps each transaction short
+        for (LocalDate monthStart : months) {
+            jdbcTemplate.update(UPSERT + "SELECT a.employee_id, CAST(? AS DATE), " + AGGREGATES +
+                    "FROM attendance a WHERE a.attendance_date >= ? AND a.attendance_date < ? " +
+                    "GROUP BY a.employee_id" + ON_CONFLICT,
+                    Date.valueOf(monthStart), Date.valueOf(monthStart), Date.valueOf(monthStart.plusMonths(1)));
+        }
+        // Months older than the oldest live attendance may have been archived; their rollups stay
+        int removed = jdbcTemplate.update("DELETE FROM attendance_monthly_rollup r WHERE NOT EXISTS (" +
+                "SELECT 1 FROM attendance a WHERE a.employee_id = r.employee_id " +
+                "AND a.attendance_date >= r.month_start " +
+                "AND a.attendance_date < CAST(r.month_start + INTERVAL '1 month' AS DATE)) " +
+                "AND r.month_start >= (SELECT COALESCE(CAST(date_trunc('month', MIN(attendance_date)) AS DATE), " +
+                "DATE 'infinity') FROM attendance)");
+        log.info("Attendance rollup rebuilt for {} months, {} stale rows removed", months.size(), removed);
+    }
+
+    @Override
+    public List<AttendanceSummaryDTO> getMonthlyReport(YearMonth month) {
+        return rollupRepository.findReportByMonth(month.atDay(1)).stream()
+                .map(this::mapToSummaryDTO)
+                .collect(Collectors.toList());
+    }
+
+    private AttendanceSummaryDTO mapToSummaryDTO(AttendanceRollupView view) {
+        double attendancePercentage = view.getTotalDays() > 0
+                ? ((double) view.getPresentDays() / view.getTotalDays()) * 100
+                : 0;
+        return AttendanceSummaryDTO.builder()
+                .employeeId(view.getEmployeeId())
+                .employeeName(view.getEmployeeFirstName() + " " + view.getEmployeeLastName())
+                .month(YearMonth.from(view.getMonthStart()).toString())
+                .totalWorkingDays(view.getTotalDays())
+                .presentDays(view.getPresentDays())
+                .absentDays(view.getAbsentDays())
+                .halfDays(view.getHalfDays())
+                .leaveDays(view.getLeaveDays())
+                .lateDays(view.getLateDays())
+                .attendancePercentage(Math.round(attendancePercentage * 100.0) / 100.0)
+                .totalWorkingHours(Math.round(view.getTotalWorkingHours() * 100.0) / 100.0)
+                .build();
+    }
+}
@@ -1,24 +1,42 @@
 package com.example.hr.management.service.impl;
 
+import com.example.hr.management.dto.AttendanceHeatmapDTO;
 import com.example.hr.management.dto.AttendanceRequestDTO;
 import com.example.hr.management.dto.AttendanceResponseDTO;
 import com.example.hr.management.dto.AttendanceSummaryDTO;
+import com.example.hr.management.dto.EmployeeHeatmapDTO;
 import com.example.hr.management.entity.Attendance;
 import com.example.hr.management.entity.Employee;
 import com.example.hr.management.exception.BadRequestException;
 import com.example.hr.management.exception.ResourceNotFoundException;
 import com.example.hr.management.repository.AttendanceRepository;
 import com.example.hr.management.repository.EmployeeRepository;
+import com.example.hr.management.repository.projection.AttendanceStatusTotals;
+import com.example.hr.management.repository.projection.AttendanceView;
+import com.example.hr.management.repository.projection.EmployeeNameView;
+import com.example.hr.management.service.AttendanceEventLog;
+import com.example.hr.management.service.AttendanceHeatmapIndex;
+import com.example.hr.management.service.AttendanceLiveHub;
+import com.example.hr.management.service.AttendanceRollupService;
 import com.example.hr.management.service.AttendanceService;
+import com.example.hr.management.service.ClockEventIngestor;
+import com.example.hr.management.service.ShiftScheduleIndex;
+import com.example.hr.management.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.Year;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,89 +45,32 @@ public class AttendanceServiceImpl implements AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
     private final EmployeeRepository employeeRepository;
-
-    private static final LocalTime OFFICE_START_TIME = LocalTime.of(9, 0);
-    private static final LocalTime OFFICE_END_TIME = LocalTime.of(18, 0);
-
+    private final ClockEventIngestor clockEventIngestor;
+    private final AttendanceRollupService attendanceRollupService;
+    private final ShiftScheduleIndex shiftScheduleIndex;
+    private final AttendanceHeatmapIndex attendanceHeatmapIndex;
+    private final AttendanceEventLog attendanceEventLog;
+    private final AttendanceLiveHub attendanceLiveHub;
+
+    // Not transactional: the ingestor commits in group batches, so no connection is held while waiting
     @Override
-    @Transactional
     public AttendanceResponseDTO clockIn(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
-
-        LocalDate today = LocalDate.now();
-        LocalTime clockInTime = LocalTime.now();
-
-        // Check if already clocked in today
-        Attendance existingAttendance = attendanceRepository.findByEmployeeIdAndAttendanceDate(employeeId, today)
-                .orElse(null);
-
-        if (existingAttendance != null && existingAttendance.getClockInTime() != null) {
-            throw new BadRequestException("Employee already clocked in today");
-        }
-
-        Attendance attendance = new Attendance();
-        attendance.setEmployee(employee);
-        attendance.setAttendanceDate(today);
-        attendance.setClockInTime(clockInTime);
-
-        // Check if late
-        boolean isLate = clockInTime.isAfter(OFFICE_START_TIME);
-        attendance.setIsLate(isLate);
-
-        if (isLate) {
-            int lateMinutes = (int) java.time.temporal.ChronoUnit.MINUTES.between(OFFICE_START_TIME, clockInTime);
-            attendance.setLateMinutes(lateMinutes);
-        }
-
-        attendance.setStatus("PRESENT");
-        attendance.setCreatedAt(LocalDateTime.now());
-        attendance.setUpdatedAt(LocalDateTime.now());
-
-        try {
-            Attendance saved = attendanceRepository.save(attendance);
-            return mapToResponseDTO(saved);
-        } catch (Exception e) {
-            throw new BadRequestException("Error saving attendance record: " + e.getMessage());
-        }
+        AttendanceResponseDTO response = clockEventIngestor.clockIn(employeeId);
+        attendanceLiveHub.publishUpsert(response);
+        return response;
     }
 
     @Override
-    @Transactional
     public AttendanceResponseDTO clockOut(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
-
-        LocalDate today = LocalDate.now();
-        LocalTime clockOutTime = LocalTime.now();
-
-        Attendance attendance = attendanceRepository.findByEmployeeIdAndAttendanceDate(employeeId, today)
-                .orElseThrow(() -> new ResourceNotFoundException("No clock-in record found for today"));
-
-        if (attendance.getClockOutTime() != null) {
-            throw new BadRequestException("Employee already clocked out today");
-        }
-
-        attendance.setClockOutTime(clockOutTime);
-
-        // Calculate working hours
-        if (attendance.getClockInTime() != null) {
-            double workingMinutes = (double) java.time.temporal.ChronoUnit.MINUTES.between(
-                    attendance.getClockInTime(),
-                    clockOutTime);
-            double workingHours = workingMinutes / 60.0;
-            attendance.setWorkingHours(Math.round(workingHours * 100.0) / 100.0);
-        }
-
-        attendance.setUpdatedAt(LocalDateTime.now());
-        Attendance updated = attendanceRepository.save(attendance);
-        return mapToResponseDTO(updated);
+        AttendanceResponseDTO response = clockEventIngestor.clockOut(employeeId);
+        attendanceLiveHub.publishUpsert(response);
+        return response;
     }
 
     @Override
     @Transactional
     public AttendanceResponseDTO markAttendance(AttendanceRequestDTO requestDTO) {
-        Employee employee = employeeRepository.findById(requestDTO.getEmployeeId())
+        Employee employee = employeeRepository.findLiveById(requestDTO.getEmployeeId())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Employee not found with id: " + requestDTO.getEmployeeId()));
 
@@ -131,23 +92,22 @@ public class AttendanceServiceImpl implements AttendanceService {
         attendance.setRemarks(requestDTO.getRemarks());
         attendance.setWorkingHours(requestDTO.getWorkingHours());
 
-        // Check if late
+        // Check if late against the employee's shift for that date
         if (requestDTO.getClockInTime() != null) {
-            boolean isLate = requestDTO.getClockInTime().isAfter(OFFICE_START_TIME);
-            attendance.setIsLate(isLate);
-
-            if (isLate) {
-                int lateMinutes = (int) java.time.temporal.ChronoUnit.MINUTES.between(OFFICE_START_TIME,
-                        requestDTO.getClockInTime());
-                attendance.setLateMinutes(lateMinutes);
-            }
+            Integer lateMinutes = shiftScheduleIndex.lateMinutes(requestDTO.getEmployeeId(),
+                    requestDTO.getAttendanceDate(), requestDTO.getClockInTime());
+            attendance.setIsLate(lateMinutes != null);
+            attendance.setLateMinutes(lateMinutes);
         }
 
         attendance.setCreatedAt(LocalDateTime.now());
         attendance.setUpdatedAt(LocalDateTime.now());
 
-        Attendance saved = attendanceRepository.save(attendance);
-        return mapToResponseDTO(saved);
+        Attendance saved = attendanceRepository.saveAndFlush(attendance);
+        attendanceEventLog.append(AttendanceEventLog.MARK, employee.getId(), saved.getAttendanceDate());
+        AttendanceResponseDTO response = mapToResponseDTO(saved);
+        afterAttendanceCommit(saved, response);
+        return response;
     }
 
     @Override
@@ -162,28 +122,28 @@ public class AttendanceServiceImpl implements AttendanceService {
         attendance.setRemarks(requestDTO.getRemarks());
         attendance.setWorkingHours(requestDTO.getWorkingHours());
 
-        // Check if late
+        // Check if late against the employee's shift for that date
         if (requestDTO.getClockInTime() != null) {
-            boolean isLate = requestDTO.getClockInTime().isAfter(OFFICE_START_TIME);
-            attendance.setIsLate(isLate);
-
-            if (isLate) {
-                int lateMinutes = (int) java.time.temporal.ChronoUnit.MINUTES.between(OFFICE_START_TIME,
-                        requestDTO.getClockInTime());
-                attendance.setLateMinutes(lateMinutes);
-            }
+            Integer lateMinutes = shiftScheduleIndex.lateMinutes(attendance.getEmployee().getId(),
+                    attendance.getAttendanceDate(), requestDTO.getClockInTime());
+            attendance.setIsLate(lateMinutes != null);
+            attendance.setLateMinutes(lateMinutes);
         }
 
         attendance.setUpdatedAt(LocalDateTime.now());
 
-        Attendance updated = attendanceRepository.save(attendance);
-        return mapToResponseDTO(updated);
+        Attendance updated = attendanceRepository.saveAndFlush(attendance);
+        attendanceEventLog.append(AttendanceEventLog.CORRECTION, updated.getEmployee().getId(),
+                updated.getAttendanceDate());
+        AttendanceResponseDTO response = mapToResponseDTO(updated);
+        afterAttendanceCommit(updated, response);
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
     public AttendanceResponseDTO getAttendanceById(Long id) {
-        Attendance attendance = attendanceRepository.findById(id)
+        AttendanceView attendance = attendanceRepository.findViewById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Attendance record not found with id: " + id));
         return mapToResponseDTO(attendance);
     }
@@ -191,7 +151,7 @@ public class AttendanceServiceImpl implements AttendanceService {
     @Override
     @Transactional(readOnly = true)
     public AttendanceResponseDTO getTodayAttendance(Long employeeId) {
-        Attendance attendance = attendanceRepository.findByEmployeeIdAndAttendanceDate(employeeId, LocalDate.now())
+        AttendanceView attendance = attendanceRepository.findViewByEmployeeIdAndDate(employeeId, LocalDate.now())
                 .orElse(null);
 
         if (attendance == null) {
@@ -204,7 +164,7 @@ public class AttendanceServiceImpl implements AttendanceService {
     @Override
     @Transactional(readOnly = true)
     public List<AttendanceResponseDTO> getEmployeeAttendance(Long employeeId) {
-        return attendanceRepository.findByEmployeeIdOrderByAttendanceDateDesc(employeeId)
+        return attendanceRepository.findViewsByEmployeeId(employeeId)
                 .stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
@@ -213,7 +173,7 @@ public class AttendanceServiceImpl implements AttendanceService {
     @Override
     @Transactional(readOnly = true)
     public List<AttendanceResponseDTO> getAttendanceByDate(LocalDate date) {
-        return attendanceRepository.findByAttendanceDate(date)
+        return attendanceRepository.findViewsByDate(date)
                 .stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
@@ -222,38 +182,50 @@ public class AttendanceServiceImpl implements AttendanceService {
     @Override
     @Transactional(readOnly = true)
     public List<AttendanceResponseDTO> getMonthlyAttendance(Long employeeId, LocalDate startDate, LocalDate endDate) {
-        return attendanceRepository.getMonthlyAttendance(employeeId, startDate, endDate)
+        return attendanceRepository.findMonthlyViews(employeeId, startDate, endDate)
                 .stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional(readOnly = true)
     public AttendanceSummaryDTO getAttendanceSummary(Long employeeId, LocalDate startDate, LocalDate endDate) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
-
-        List<Attendance> attendanceList = attendanceRepository.getMonthlyAttendance(employeeId, startDate, endDate);
-
-        Long presentDays = attendanceRepository.countPresentDays(employeeId, startDate, endDate);
-        Long absentDays = attendanceRepository.countAbsentDays(employeeId, startDate, endDate);
-        Long lateDays = attendanceRepository.countLateDays(employeeId, startDate, endDate);
-
-        long halfDays = attendanceList.stream()
-                .filter(a -> "HALF_DAY".equals(a.getStatus()))
-                .count();
-
-        long leaveDays = attendanceList.stream()
-                .filter(a -> "LEAVE".equals(a.getStatus()))
-                .count();
-
-        // Calculate working days (excluding weekends and holidays)
-        long totalWorkingDays = attendanceList.size();
+        // One GROUP BY status round trip; the employee name rides along on every group
+        List<AttendanceStatusTotals> totals = attendanceRepository.summarizeByStatus(employeeId, startDate, endDate);
+
+        String employeeName;
+        if (!totals.isEmpty()) {
+            employeeName = totals.get(0).getEmployeeFirstName() + " " + totals.get(0).getEmployeeLastName();
+        } else {
+            // No rows in range: only now is a separate lookup needed, to tell "no attendance" from "no employee"
+            EmployeeNameView employee = employeeRepository.findNamesByIdIn(List.of(employeeId)).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
+            employeeName = employee.getFirstName() + " " + employee.getLastName();
+        }
 
-        double totalWorkingHours = attendanceList.stream()
-                .mapToDouble(a -> a.getWorkingHours() != null ? a.getWorkingHours() : 0)
-                .sum();
+        long presentDays = 0;
+        long absentDays = 0;
+        long halfDays = 0;
+        long leaveDays = 0;
+        long lateDays = 0;
+        long totalWorkingDays = 0;
+        double totalWorkingHours = 0;
+        for (AttendanceStatusTotals group : totals) {
+            long days = group.getDays();
+            switch (String.valueOf(group.getStatus())) {
+                case "PRESENT" -> presentDays = days;
+                case "ABSENT" -> absentDays = days;
+                case "HALF_DAY" -> halfDays = days;
+                case "LEAVE" -> leaveDays = days;
+                default -> {
+                    // other statuses only count towards the totals
+                }
+            }
+            totalWorkingDays += days;
+            lateDays += group.getLateDays() != null ? group.getLateDays() : 0;
+            totalWorkingHours += group.getWorkingHours() != null ? group.getWorkingHours() : 0;
+        }
 
         double attendancePercentage = totalWorkingDays > 0
                 ? ((double) presentDays / totalWorkingDays) * 100
@@ -261,7 +233,7 @@ public class AttendanceServiceImpl implements AttendanceService {
 
         return AttendanceSummaryDTO.builder()
                 .employeeId(employeeId)
-                .employeeName(employee.getFullName())
+                .employeeName(employeeName)
                 .month(YearMonth.from(startDate).toString())
                 .totalWorkingDays(totalWorkingDays)
                 .presentDays(presentDays)
@@ -279,7 +251,76 @@ public class AttendanceServiceImpl implements AttendanceService {
     public void deleteAttendance(Long id) {
         Attendance attendance = attendanceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Attendance record not found with id: " + id));
+        // The tombstone snapshots the row, so it must be written before the row goes
+        attendanceEventLog.append(AttendanceEventLog.DELETE, attendance.getEmployee().getId(),
+                attendance.getAttendanceDate());
         attendanceRepository.delete(attendance);
+        afterAttendanceCommit(attendance, null);
+    }
+
+    @Override
+    public AttendanceHeatmapDTO getHeatmap(int year, Long employeeId, String department) {
+        if ((employeeId == null) == (department == null || department.isBlank())) {
+            throw new BadRequestException("Provide either employeeId or department");
+        }
+        int currentYear = LocalDate.now().getYear();
+        if (year < currentYear - 10 || year > currentYear + 1) {
+            throw new BadRequestException("Heatmap year must be between " + (currentYear - 10) + " and "
+                    + (currentYear + 1));
+        }
+
+        List<EmployeeNameView> employees;
+        if (employeeId != null) {
+            Employee employee = employeeRepository.findLiveById(employeeId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employeeId));
+            employees = employeeRepository.findNamesByIdIn(List.of(employee.getId()));
+        } else {
+            employees = employeeRepository.findNamesByDepartment(department);
+        }
+
+        List<EmployeeHeatmapDTO> heatmaps = new ArrayList<>(employees.size());
+        for (EmployeeNameView employee : employees) {
+            Map<String, String> bitsets = new LinkedHashMap<>();
+            attendanceHeatmapIndex.yearBits(employee.getId(), year).forEach((status, words) ->
+                    bitsets.put(status, Base64.getEncoder().encodeToString(BitSet.valueOf(words).toByteArray())));
+            heatmaps.add(EmployeeHeatmapDTO.builder()
+                    .employeeId(employee.getId())
+                    .employeeName(employee.getFirstName() + " " + employee.getLastName())
+                    .bitsets(bitsets)
+                    .build());
+        }
+
+        List<String> statuses = new ArrayList<>(AttendanceHeatmapIndex.STATUSES);
+        statuses.add(AttendanceHeatmapIndex.LATE);
+        return AttendanceHeatmapDTO.builder()
+                .year(year)
+                .days(Year.of(year).length())
+                .statuses(statuses)
+                .employees(heatmaps)
+                .build();
+    }
+
+    @Override
+    public SseEmitter subscribeLiveBoard(LocalDate date) {
+        return attendanceLiveHub.subscribe(date, () -> getAttendanceByDate(date));
+    }
+
+    // Derived views (monthly rollup, heatmap, live boards) follow the row once it is committed; null means deleted
+    private void afterAttendanceCommit(Attendance attendance, AttendanceResponseDTO written) {
+        Long attendanceId = attendance.getId();
+        Long employeeId = attendance.getEmployee().getId();
+        LocalDate date = attendance.getAttendanceDate();
+        TransactionUtil.afterCommit(() -> {
+            attendanceRollupService.refresh(employeeId, date);
+            if (written != null) {
+                attendanceHeatmapIndex.record(employeeId, date, written.getStatus(),
+                        Boolean.TRUE.equals(written.getIsLate()));
+                attendanceLiveHub.publishUpsert(written);
+            } else {
+                attendanceHeatmapIndex.remove(employeeId, date);
+                attendanceLiveHub.publishRemoval(attendanceId, employeeId, date);
+            }
+        });
     }
 
     // Helper method to map Attendance to DTO
@@ -301,4 +342,23 @@ public class AttendanceServiceImpl implements AttendanceService {
                 .updatedAt(attendance.getUpdatedAt())
                 .build();
     }
+
+    private AttendanceResponseDTO mapToResponseDTO(AttendanceView view) {
+        return AttendanceResponseDTO.builder()
+                .id(view.getId())
+                .employeeId(view.getEmployeeId())
+                .employeeName(view.getEmployeeFirstName() + " " + view.getEmployeeLastName())
+                .employeeCode(view.getEmployeeCode())
+                .attendanceDate(view.getAttendanceDate())
+                .clockInTime(view.getClockInTime())
+                .clockOutTime(view.getClockOutTime())
+                .status(view.getStatus())
+                .remarks(view.getRemarks())
+                .workingHours(view.getWorkingHours())
+                .isLate(view.getIsLate())
+                .lateMinutes(view.getLateMinutes())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .build();
+    }
 }
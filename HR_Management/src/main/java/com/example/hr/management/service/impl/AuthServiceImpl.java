@@ -10,7 +10,9 @@ import com.example.hr.management.repository.EmployeeRepository;
 import com.example.hr.management.repository.RoleRepository;
 import com.example.hr.management.repository.UserRepository;
 import com.example.hr.management.service.AuthService;
+import com.example.hr.management.service.EmployeeCache;
 import com.example.hr.management.util.JwtUtil;
+import com.example.hr.management.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -33,6 +35,7 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final EmployeeRepository employeeRepository;
+    private final EmployeeCache employeeCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
@@ -58,8 +61,11 @@ public class AuthServiceImpl implements AuthService {
             employeeId = employeeRepository.findByEmailIgnoreCase(user.getEmail())
                     .map(e -> {
                         e.setUser(user);
+                        e.setUpdatedAt(LocalDateTime.now());
                         employeeRepository.save(e);
-                        return e.getId();
+                        Long linkedId = e.getId();
+                        TransactionUtil.afterCommit(() -> employeeCache.invalidate(linkedId));
+                        return linkedId;
                     }).orElse(null);
         }
 
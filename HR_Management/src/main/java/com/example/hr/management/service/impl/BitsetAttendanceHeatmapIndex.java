@@ -0,0 +1,207 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.service.AttendanceHeatmapIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Attendance heatmaps held as bitsets: per employee and year, one 366-bit set (six longs) per
+ * status and one for late arrivals, 288 bytes per employee-year. A year is loaded with a single
+ * range scan the first time it is asked for and then kept current by the write paths.
+ *
+ * The scan runs outside the monitor so writes (the clock-in writer among them) never wait on it.
+ * While a year is loading its writes are buffered and applied to the loaded bitsets before they
+ * are published; writes arrive after their transaction commits, so a row the scan missed is still
+ * applied. Other readers of the same year wait for the one load.
+ */
+@Slf4j
+@Service
+public class BitsetAttendanceHeatmapIndex implements AttendanceHeatmapIndex {
+
+    private static final int WORDS = 6;
+    private static final int LATE_ROW = STATUSES.size();
+
+    private final JdbcTemplate loadJdbcTemplate;
+    private final int maxYears;
+
+    // year -> employeeId -> [status row][word]; least recently used year is evicted
+    private final LinkedHashMap<Integer, Map<Long, long[][]>> years = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Integer, Loading> loading = new HashMap<>();
+
+    public BitsetAttendanceHeatmapIndex(DataSource dataSource,
+            @Value("${hr.export.fetch-size:1000}") int fetchSize,
+            @Value("${hr.attendance-heatmap.max-years:5}") int maxYears) {
+        this.loadJdbcTemplate = new JdbcTemplate(dataSource);
+        this.loadJdbcTemplate.setFetchSize(fetchSize);
+        this.maxYears = Math.max(1, maxYears);
+    }
+
+    // Safety net against writes that bypass the services (SQL scripts, partition archiving)
+    @Scheduled(fixedDelayString = "${hr.attendance-heatmap.reconcile-interval-ms:3600000}",
+            initialDelayString = "${hr.attendance-heatmap.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        invalidateAll();
+    }
+
+    @Override
+    public void record(Long employeeId, LocalDate date, String status, boolean late) {
+        int statusRow = STATUSES.indexOf(status);
+        apply(date.getYear(), year -> set(year.computeIfAbsent(employeeId, k -> new long[LATE_ROW + 1][WORDS]),
+                date, statusRow, late));
+    }
+
+    @Override
+    public void remove(Long employeeId, LocalDate date) {
+        apply(date.getYear(), year -> {
+            long[][] bits = year.get(employeeId);
+            if (bits != null) {
+                set(bits, date, -1, false);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        years.clear();
+        // Loads in flight still answer their readers but are no longer published
+        loading.clear();
+    }
+
+    @Override
+    public Map<String, long[]> yearBits(Long employeeId, int year) {
+        Loading pending;
+        boolean loader = false;
+        synchronized (this) {
+            Map<Long, long[][]> loaded = years.get(year);
+            if (loaded != null) {
+                return copy(loaded.get(employeeId));
+            }
+            pending = loading.get(year);
+            if (pending == null) {
+                pending = new Loading();
+                loading.put(year, pending);
+                loader = true;
+            }
+        }
+        if (loader) {
+            load(year, pending);
+        }
+        Map<Long, long[][]> loaded = pending.await();
+        synchronized (this) {
+            return copy(loaded.get(employeeId));
+        }
+    }
+
+    private synchronized void apply(int year, Consumer<Map<Long, long[][]>> change) {
+        Map<Long, long[][]> loaded = years.get(year);
+        if (loaded != null) {
+            change.accept(loaded);
+            return;
+        }
+        Loading pending = loading.get(year);
+        if (pending != null) {
+            pending.buffered.add(change);
+        }
+        // Otherwise not loaded; the load will read this row from the table
+    }
+
+    private void load(int year, Loading pending) {
+        Map<Long, long[][]> fresh = new HashMap<>();
+        long start = System.currentTimeMillis();
+        try {
+            scan(year, fresh);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading.remove(year, pending);
+            }
+            pending.done.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            pending.buffered.forEach(change -> change.accept(fresh));
+            if (loading.remove(year, pending)) {
+                years.put(year, fresh);
+                if (years.size() > maxYears) {
+                    years.remove(years.keySet().iterator().next());
+                }
+            }
+        }
+        pending.done.complete(fresh);
+        log.info("Attendance heatmap for {} loaded: {} employees in {} ms", year, fresh.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    private void scan(int year, Map<Long, long[][]> fresh) {
+        loadJdbcTemplate.query("SELECT employee_id, attendance_date, status, is_late FROM attendance " +
+                        "WHERE attendance_date >= ? AND attendance_date < ?",
+                rs -> {
+                    long[][] bits = fresh.computeIfAbsent(rs.getLong("employee_id"),
+                            k -> new long[LATE_ROW + 1][WORDS]);
+                    set(bits, rs.getDate("attendance_date").toLocalDate(), STATUSES.indexOf(rs.getString("status")),
+                            rs.getBoolean("is_late"));
+                },
+                Date.valueOf(LocalDate.of(year, 1, 1)), Date.valueOf(LocalDate.of(year + 1, 1, 1)));
+    }
+
+    private static Map<String, long[]> copy(long[][] bits) {
+        if (bits == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, long[]> copy = new LinkedHashMap<>();
+        for (int i = 0; i < STATUSES.size(); i++) {
+            copy.put(STATUSES.get(i), bits[i].clone());
+        }
+        copy.put(LATE, bits[LATE_ROW].clone());
+        return copy;
+    }
+
+    private static void set(long[][] bits, LocalDate date, int statusRow, boolean late) {
+        int day = date.getDayOfYear() - 1;
+        int word = day >>> 6;
+        long mask = 1L << day;
+        for (long[] row : bits) {
+            row[word] &= ~mask;
+        }
+        if (statusRow >= 0) {
+            bits[statusRow][word] |= mask;
+        }
+        if (late) {
+            bits[LATE_ROW][word] |= mask;
+        }
+    }
+
+    private static final class Loading {
+        final List<Consumer<Map<Long, long[][]>>> buffered = new ArrayList<>();
+        final CompletableFuture<Map<Long, long[][]>> done = new CompletableFuture<>();
+
+        Map<Long, long[][]> await() {
+            try {
+                return done.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading the attendance heatmap", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
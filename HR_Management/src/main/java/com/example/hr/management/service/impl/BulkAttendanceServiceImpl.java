@@ -0,0 +1,271 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.dto.AttendanceRequestDTO;
+import com.example.hr.management.dto.BulkAttendanceResultDTO;
+import com.example.hr.management.dto.BulkRowResultDTO;
+import com.example.hr.management.exception.BadRequestException;
+import com.example.hr.management.repository.EmployeeRepository;
+import com.example.hr.management.service.AttendanceEventLog;
+import com.example.hr.management.service.AttendanceEventLog.EventKey;
+import com.example.hr.management.service.AttendanceHeatmapIndex;
+import com.example.hr.management.service.AttendanceLiveHub;
+import com.example.hr.management.service.AttendanceRollupService;
+import com.example.hr.management.service.AttendanceRollupService.RollupKey;
+import com.example.hr.management.service.BulkAttendanceService;
+import com.example.hr.management.service.ShiftScheduleIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Marks attendance for many employees in one call. Existing (employee, date) rows are found with
+ * a single VALUES join, and the remaining records are written as multi-row INSERTs with
+ * ON CONFLICT DO NOTHING, so a row inserted concurrently is reported as skipped instead of
+ * failing its chunk.
+ */
+@Service
+public class BulkAttendanceServiceImpl implements BulkAttendanceService {
+
+    // PostgreSQL allows at most 32767 bind parameters per statement
+    private static final int MAX_PARAMETERS = 32767;
+    private static final int INSERT_COLUMNS = 11;
+
+    private static final String INSERT_SQL = "INSERT INTO attendance (employee_id, attendance_date, clock_in_time, " +
+            "clock_out_time, status, remarks, working_hours, is_late, late_minutes, created_at, updated_at) VALUES ";
+
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CONFLICT = " ON CONFLICT (employee_id, attendance_date) DO NOTHING " +
+            "RETURNING id, employee_id, attendance_date";
+
+    private static final String KEY_ROW = "(CAST(? AS BIGINT), CAST(? AS DATE))";
+
+    private final EmployeeRepository employeeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final AttendanceRollupService attendanceRollupService;
+    private final ShiftScheduleIndex shiftScheduleIndex;
+    private final AttendanceHeatmapIndex attendanceHeatmapIndex;
+    private final AttendanceEventLog attendanceEventLog;
+    private final AttendanceLiveHub attendanceLiveHub;
+    private final int batchSize;
+    private final int maxRecords;
+
+    public BulkAttendanceServiceImpl(EmployeeRepository employeeRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            Validator validator,
+            AttendanceRollupService attendanceRollupService,
+            ShiftScheduleIndex shiftScheduleIndex,
+            AttendanceHeatmapIndex attendanceHeatmapIndex,
+            AttendanceEventLog attendanceEventLog,
+            AttendanceLiveHub attendanceLiveHub,
+            @Value("${hr.attendance-bulk.batch-size:500}") int batchSize,
+            @Value("${hr.attendance-bulk.max-records:5000}") int maxRecords) {
+        this.employeeRepository = employeeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.attendanceRollupService = attendanceRollupService;
+        this.shiftScheduleIndex = shiftScheduleIndex;
+        this.attendanceHeatmapIndex = attendanceHeatmapIndex;
+        this.attendanceEventLog = attendanceEventLog;
+        this.attendanceLiveHub = attendanceLiveHub;
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_PARAMETERS / INSERT_COLUMNS));
+        this.maxRecords = Math.max(1, Math.min(maxRecords, MAX_PARAMETERS / 2));
+    }
+
+    @Override
+    public BulkAttendanceResultDTO markAttendance(List<AttendanceRequestDTO> records) {
+        if (records == null || records.isEmpty()) {
+            throw new BadRequestException("At least one attendance record is required");
+        }
+        if (records.size() > maxRecords) {
+            throw new BadRequestException("Too many attendance records in one request (max " + maxRecords + ")");
+        }
+
+        BulkRowResultDTO[] results = new BulkRowResultDTO[records.size()];
+        List<PendingRow> pending = new ArrayList<>(records.size());
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < records.size(); i++) {
+            AttendanceRequestDTO record = records.get(i);
+            if (record == null) {
+                results[i] = outcome(i, null, "FAILED", "Record is empty", null);
+                continue;
+            }
+            String key = record.getEmployeeId() + "/" + record.getAttendanceDate();
+            Set<ConstraintViolation<AttendanceRequestDTO>> violations = validator.validate(record);
+            if (!violations.isEmpty()) {
+                results[i] = outcome(i, key, "FAILED", violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")), null);
+                continue;
+            }
+            if (!keys.add(key)) {
+                results[i] = outcome(i, key, "FAILED", "Duplicate record for this employee and date in request", null);
+                continue;
+            }
+            pending.add(new PendingRow(i, key, record, shiftScheduleIndex.lateMinutes(record.getEmployeeId(),
+                    record.getAttendanceDate(), record.getClockInTime())));
+        }
+
+        // One lookup for the employees, one for the (employee, date) pairs already marked
+        if (!pending.isEmpty()) {
+            Set<Long> liveEmployees = new HashSet<>(employeeRepository.findLiveIdsByIdIn(
+                    pending.stream().map(row -> row.record().getEmployeeId()).collect(Collectors.toSet())));
+            Set<String> existing = findExistingKeys(pending);
+
+            List<PendingRow> toInsert = new ArrayList<>(pending.size());
+            for (PendingRow row : pending) {
+                if (!liveEmployees.contains(row.record().getEmployeeId())) {
+                    results[row.index()] = outcome(row.index(), row.key(), "FAILED",
+                            "Employee not found with id: " + row.record().getEmployeeId(), null);
+                } else if (existing.contains(row.key())) {
+                    results[row.index()] = outcome(row.index(), row.key(), "SKIPPED",
+                            "Attendance already marked for this employee on this date", null);
+                } else {
+                    toInsert.add(row);
+                }
+            }
+            for (int from = 0; from < toInsert.size(); from += batchSize) {
+                insertChunk(toInsert.subList(from, Math.min(toInsert.size(), from + batchSize)), results);
+            }
+            // One snapshot per day for open live boards instead of a delta per row
+            toInsert.stream()
+                    .map(row -> row.record().getAttendanceDate())
+                    .distinct()
+                    .forEach(attendanceLiveHub::publishReset);
+        }
+
+        Map<String, Long> counts = Arrays.stream(results)
+                .collect(Collectors.groupingBy(BulkRowResultDTO::getStatus, Collectors.counting()));
+        return BulkAttendanceResultDTO.builder()
+                .totalRecords((long) records.size())
+                .marked(counts.getOrDefault("MARKED", 0L))
+                .skipped(counts.getOrDefault("SKIPPED", 0L))
+                .failed(counts.getOrDefault("FAILED", 0L))
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private Set<String> findExistingKeys(List<PendingRow> rows) {
+        List<Object> params = new ArrayList<>(rows.size() * 2);
+        for (PendingRow row : rows) {
+            params.add(row.record().getEmployeeId());
+            params.add(Date.valueOf(row.record().getAttendanceDate()));
+        }
+        String sql = "SELECT a.employee_id, a.attendance_date FROM attendance a JOIN (VALUES "
+                + String.join(", ", Collections.nCopies(rows.size(), KEY_ROW))
+                + ") AS v(employee_id, attendance_date) "
+                + "ON a.employee_id = v.employee_id AND a.attendance_date = v.attendance_date";
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query(sql, rs -> {
+            existing.add(rs.getLong("employee_id") + "/" + rs.getDate("attendance_date").toLocalDate());
+        }, params.toArray());
+        return existing;
+    }
+
+    private void insertChunk(List<PendingRow> chunk, BulkRowResultDTO[] results) {
+        Map<String, Long> inserted;
+        Map<String, String> errors = new HashMap<>();
+        try {
+            inserted = transactionTemplate.execute(status -> insertRows(chunk));
+        } catch (DataAccessException batchFailure) {
+            // e.g. an employee purged since the lookup; retry one by one to isolate the bad row
+            inserted = new HashMap<>();
+            for (PendingRow row : chunk) {
+                try {
+                    inserted.putAll(transactionTemplate.execute(status -> insertRows(List.of(row))));
+                } catch (DataAccessException e) {
+                    errors.put(row.key(), "Insert failed: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        List<RollupKey> touched = new ArrayList<>(inserted.size());
+        for (PendingRow row : chunk) {
+            Long id = inserted.get(row.key());
+            if (id != null) {
+                results[row.index()] = outcome(row.index(), row.key(), "MARKED", null, id);
+                touched.add(RollupKey.of(row.record().getEmployeeId(), row.record().getAttendanceDate()));
+                attendanceHeatmapIndex.record(row.record().getEmployeeId(), row.record().getAttendanceDate(),
+                        row.record().getStatus(), row.lateMinutes() != null);
+            } else if (errors.containsKey(row.key())) {
+                results[row.index()] = outcome(row.index(), row.key(), "FAILED", errors.get(row.key()), null);
+            } else {
+                results[row.index()] = outcome(row.index(), row.key(), "SKIPPED",
+                        "Attendance already marked for this employee on this date", null);
+            }
+        }
+        if (!touched.isEmpty()) {
+            attendanceRollupService.refresh(touched);
+        }
+    }
+
+    // Returns "employeeId/date" -> new attendance id for every row actually inserted
+    private Map<String, Long> insertRows(List<PendingRow> rows) {
+        StringBuilder sql = new StringBuilder(INSERT_SQL);
+        List<Object> params = new ArrayList<>(rows.size() * INSERT_COLUMNS);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < rows.size(); i++) {
+            AttendanceRequestDTO record = rows.get(i).record();
+            Integer lateMinutes = rows.get(i).lateMinutes();
+            sql.append(i == 0 ? "" : ", ").append(INSERT_ROW);
+            params.add(record.getEmployeeId());
+            params.add(Date.valueOf(record.getAttendanceDate()));
+            params.add(record.getClockInTime());
+            params.add(record.getClockOutTime());
+            params.add(record.getStatus());
+            params.add(record.getRemarks());
+            params.add(record.getWorkingHours());
+            params.add(lateMinutes != null);
+            params.add(lateMinutes);
+            params.add(now);
+            params.add(now);
+        }
+        sql.append(INSERT_CONFLICT);
+        Map<String, Long> inserted = new HashMap<>();
+        List<EventKey> eventKeys = new ArrayList<>(rows.size());
+        jdbcTemplate.query(sql.toString(), rs -> {
+            LocalDate date = rs.getDate("attendance_date").toLocalDate();
+            inserted.put(rs.getLong("employee_id") + "/" + date, rs.getLong("id"));
+            eventKeys.add(new EventKey(rs.getLong("employee_id"), date));
+        }, params.toArray());
+        attendanceEventLog.append(AttendanceEventLog.MARK, eventKeys);
+        return inserted;
+    }
+
+    private static BulkRowResultDTO outcome(int index, String key, String status, String message, Long id) {
+        return BulkRowResultDTO.builder()
+                .rowNumber((long) index + 1)
+                .key(key)
+                .status(status)
+                .message(message)
+                .id(id)
+                .build();
+    }
+
+    private record PendingRow(int index, String key, AttendanceRequestDTO record, Integer lateMinutes) {
+    }
+}
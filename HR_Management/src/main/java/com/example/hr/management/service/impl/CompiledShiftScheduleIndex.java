@@ -0,0 +1,171 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.entity.Shift;
+import com.example.hr.management.repository.ShiftAssignmentRepository;
+import com.example.hr.management.repository.ShiftRepository;
+import com.example.hr.management.repository.projection.ShiftAssignmentView;
+import com.example.hr.management.service.ShiftScheduleIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shifts and rosters compiled into arrays. Each roster becomes an int[] of shift slots anchored
+ * at its start day, so resolving an employee's shift for a date is a map lookup, a short search
+ * over that employee's rosters (almost always one) and a modulo. The compiled schedule is
+ * immutable and swapped whole on rebuild, so readers never lock.
+ */
+@Slf4j
+@Service
+public class CompiledShiftScheduleIndex implements ShiftScheduleIndex {
+
+    // Slot 0 is a rostered day off
+    private static final int DAY_OFF = 0;
+
+    private final ShiftRepository shiftRepository;
+    private final ShiftAssignmentRepository shiftAssignmentRepository;
+    private final ExpectedShift officeHours;
+
+    private volatile Schedule schedule;
+
+    public CompiledShiftScheduleIndex(ShiftRepository shiftRepository,
+            ShiftAssignmentRepository shiftAssignmentRepository,
+            @Value("${office.start.time:09:00}") String officeStart,
+            @Value("${office.end.time:18:00}") String officeEnd,
+            @Value("${office.grace.minutes:0}") int officeGraceMinutes) {
+        this.shiftRepository = shiftRepository;
+        this.shiftAssignmentRepository = shiftAssignmentRepository;
+        this.officeHours = new ExpectedShift(null, "OFFICE", LocalTime.parse(officeStart), LocalTime.parse(officeEnd),
+                Math.max(0, officeGraceMinutes));
+        this.schedule = new Schedule(new ExpectedShift[] { null }, new HashMap<>());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Picks up roster edits made on other instances
+    @Scheduled(fixedDelayString = "${hr.shifts.reload-interval-ms:300000}",
+            initialDelayString = "${hr.shifts.reload-interval-ms:300000}")
+    public void reload() {
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        List<Shift> shifts = shiftRepository.findAll();
+        List<ShiftAssignmentView> assignments = shiftAssignmentRepository.findAllViews();
+
+        ExpectedShift[] slots = new ExpectedShift[shifts.size() + 1];
+        Map<Long, Integer> slotByShiftId = new HashMap<>();
+        for (int i = 0; i < shifts.size(); i++) {
+            Shift shift = shifts.get(i);
+            slots[i + 1] = new ExpectedShift(shift.getId(), shift.getName(), shift.getStartTime(), shift.getEndTime(),
+                    shift.getGraceMinutes() != null ? shift.getGraceMinutes() : 0);
+            slotByShiftId.put(shift.getId(), i + 1);
+        }
+
+        // Views arrive ordered by employee, then start date
+        Map<Long, List<Roster>> byEmployee = new HashMap<>();
+        for (ShiftAssignmentView view : assignments) {
+            int[] rotation = compileRotation(view, slotByShiftId);
+            if (rotation == null) {
+                continue;
+            }
+            byEmployee.computeIfAbsent(view.getEmployeeId(), k -> new ArrayList<>()).add(new Roster(
+                    view.getEffectiveFrom().toEpochDay(),
+                    view.getEffectiveTo() != null ? view.getEffectiveTo().toEpochDay() : Long.MAX_VALUE,
+                    rotation));
+        }
+        Map<Long, Roster[]> rosters = new HashMap<>(byEmployee.size() * 2);
+        byEmployee.forEach((employeeId, list) -> rosters.put(employeeId, list.toArray(new Roster[0])));
+
+        schedule = new Schedule(slots, rosters);
+        log.debug("Shift schedule compiled: {} shifts, {} rostered employees", shifts.size(), rosters.size());
+    }
+
+    @Override
+    public ExpectedShift expectedShift(Long employeeId, LocalDate date) {
+        Schedule current = schedule;
+        Roster[] rosters = current.rosters.get(employeeId);
+        if (rosters == null) {
+            return officeHours;
+        }
+        long day = date.toEpochDay();
+        Roster roster = covering(rosters, day);
+        if (roster == null) {
+            return officeHours;
+        }
+        int slot = roster.rotation[(int) Math.floorMod(day - roster.fromDay, (long) roster.rotation.length)];
+        return current.slots[slot];
+    }
+
+    @Override
+    public Set<Long> rosteredOn(LocalDate date) {
+        long day = date.toEpochDay();
+        Set<Long> rostered = new HashSet<>();
+        schedule.rosters.forEach((employeeId, rosters) -> {
+            if (covering(rosters, day) != null) {
+                rostered.add(employeeId);
+            }
+        });
+        return rostered;
+    }
+
+    // Last roster starting on or before the day, if it has not ended by then
+    private static Roster covering(Roster[] rosters, long day) {
+        int lo = 0;
+        int hi = rosters.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (rosters[mid].fromDay <= day) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found < 0 || day > rosters[found].toDay ? null : rosters[found];
+    }
+
+    private int[] compileRotation(ShiftAssignmentView view, Map<Long, Integer> slotByShiftId) {
+        String[] tokens = view.getRotation().split(",");
+        int[] rotation = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            long shiftId;
+            try {
+                shiftId = Long.parseLong(tokens[i].trim());
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring shift assignment {} with unreadable rotation", view.getId());
+                return null;
+            }
+            Integer slot = shiftId == DAY_OFF ? Integer.valueOf(DAY_OFF) : slotByShiftId.get(shiftId);
+            if (slot == null) {
+                log.warn("Ignoring shift assignment {} referring to missing shift {}", view.getId(), shiftId);
+                return null;
+            }
+            rotation[i] = slot;
+        }
+        return rotation;
+    }
+
+    private record Roster(long fromDay, long toDay, int[] rotation) {
+    }
+
+    private record Schedule(ExpectedShift[] slots, Map<Long, Roster[]> rosters) {
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.dto.BulkImportResultDTO;
+import com.example.hr.management.dto.BulkRowResultDTO;
+import com.example.hr.management.dto.EmployeeRequestDTO;
+import com.example.hr.management.exception.BadRequestException;
+import com.example.hr.management.repository.EmployeeRepository;
+import com.example.hr.management.service.EmployeeImportService;
+import com.example.hr.management.service.EmployeeSearchIndex;
+import com.example.hr.management.service.HeadcountRegistry;
+import com.example.hr.management.service.ReportingHierarchyIndex;
+import com.example.hr.management.util.CsvUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO employees (employee_code, first_name, last_name, email, " +
+            "phone_number, date_of_birth, gender, address, city, state, postal_code, country, department, " +
+            "designation, uan_no, pf_no, esi_no, pan_no, bank_name, bank_account_no, ifsc_code, joining_date, " +
+            "employment_type, employment_status, basic_salary, manager_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final EmployeeRepository employeeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final ReportingHierarchyIndex reportingHierarchyIndex;
+    private final HeadcountRegistry headcountRegistry;
+    private final int batchSize;
+
+    public EmployeeImportServiceImpl(EmployeeRepository employeeRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            Validator validator,
+            EmployeeSearchIndex employeeSearchIndex,
+            ReportingHierarchyIndex reportingHierarchyIndex,
+            HeadcountRegistry headcountRegistry,
+            @Value("${hr.bulk-import.batch-size:500}") int batchSize) {
+        this.employeeRepository = employeeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.reportingHierarchyIndex = reportingHierarchyIndex;
+        this.headcountRegistry = headcountRegistry;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public BulkImportResultDTO importEmployeesCsv(InputStream csv) {
+        // Uniqueness is checked in memory against keys preloaded once, not with two queries per row
+        Set<String> employeeCodes = new HashSet<>(employeeRepository.findAllEmployeeCodes());
+        Set<String> emails = new HashSet<>(employeeRepository.findAllEmails());
+
+        ImportProgress progress = new ImportProgress();
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            List<String> header = CsvUtil.readRecord(reader);
+            if (header == null) {
+                throw new BadRequestException("CSV file is empty");
+            }
+            List<String> columns = header.stream()
+                    .map(h -> h.trim().replace("\uFEFF", ""))
+                    .collect(Collectors.toList());
+
+            long rowNumber = 1;
+            List<String> record;
+            while ((record = CsvUtil.readRecord(reader)) != null) {
+                rowNumber++;
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                progress.total++;
+
+                EmployeeRequestDTO dto;
+                try {
+                    dto = toRequestDTO(columns, record);
+                } catch (IllegalArgumentException e) {
+                    progress.fail(rowNumber, null, e.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<EmployeeRequestDTO>> violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    progress.fail(rowNumber, dto.getEmployeeCode(), violations.stream()
+                            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+                if (!employeeCodes.add(dto.getEmployeeCode())) {
+                    progress.fail(rowNumber, dto.getEmployeeCode(),
+                            "Employee code already exists: " + dto.getEmployeeCode());
+                    continue;
+                }
+                if (!emails.add(dto.getEmail())) {
+                    employeeCodes.remove(dto.getEmployeeCode());
+                    progress.fail(rowNumber, dto.getEmployeeCode(), "Email already exists: " + dto.getEmail());
+                    continue;
+                }
+
+                chunk.add(new PendingRow(rowNumber, dto));
+                if (chunk.size() == batchSize) {
+                    insertChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            insertChunk(chunk, progress);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading CSV upload", e);
+        }
+
+        if (progress.imported > 0) {
+            employeeSearchIndex.rebuild();
+            reportingHierarchyIndex.rebuild();
+            headcountRegistry.rebuild();
+        }
+
+        return BulkImportResultDTO.builder()
+                .totalRows(progress.total)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .errors(progress.errors)
+                .build();
+    }
+
+    private void insertChunk(List<PendingRow> chunk, ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+                    chunk.stream().map(row -> toParams(row.dto())).collect(Collectors.toList())));
+            progress.imported += chunk.size();
+        } catch (DataAccessException batchFailure) {
+            // Some row in the chunk conflicts (e.g. inserted concurrently); retry one by one to isolate it
+            for (PendingRow row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL,
+                            toParams(row.dto())));
+                    progress.imported++;
+                } catch (DataAccessException e) {
+                    progress.fail(row.rowNumber(), row.dto().getEmployeeCode(),
+                            "Insert failed: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private Object[] toParams(EmployeeRequestDTO dto) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return new Object[] {
+                dto.getEmployeeCode(), dto.getFirstName(), dto.getLastName(), dto.getEmail(),
+                dto.getPhoneNumber(), toSqlDate(dto.getDateOfBirth()), dto.getGender(), dto.getAddress(),
+                dto.getCity(), dto.getState(), dto.getPostalCode(), dto.getCountry(), dto.getDepartment(),
+                dto.getDesignation(), dto.getUanNo(), dto.getPfNo(), dto.getEsiNo(), dto.getPanNo(),
+                dto.getBankName(), dto.getBankAccountNo(), dto.getIfscCode(), toSqlDate(dto.getJoiningDate()),
+                dto.getEmploymentType() != null ? dto.getEmploymentType() : "FULL_TIME",
+                dto.getEmploymentStatus() != null ? dto.getEmploymentStatus() : "ACTIVE",
+                dto.getBasicSalary(), dto.getManagerId(), now, now
+        };
+    }
+
+    private EmployeeRequestDTO toRequestDTO(List<String> columns, List<String> record) {
+        EmployeeRequestDTO dto = new EmployeeRequestDTO();
+        for (int i = 0; i < columns.size() && i < record.size(); i++) {
+            String value = record.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            String column = columns.get(i);
+            try {
+                switch (column.toLowerCase(Locale.ROOT)) {
+                    case "employeecode" -> dto.setEmployeeCode(value);
+                    case "firstname" -> dto.setFirstName(value);
+                    case "lastname" -> dto.setLastName(value);
+                    case "email" -> dto.setEmail(value);
+                    case "phonenumber" -> dto.setPhoneNumber(value);
+                    case "dateofbirth" -> dto.setDateOfBirth(LocalDate.parse(value));
+                    case "gender" -> dto.setGender(value);
+                    case "address" -> dto.setAddress(value);
+                    case "city" -> dto.setCity(value);
+                    case "state" -> dto.setState(value);
+                    case "postalcode" -> dto.setPostalCode(value);
+                    case "country" -> dto.setCountry(value);
+                    case "department" -> dto.setDepartment(value);
+                    case "designation" -> dto.setDesignation(value);
+                    case "uanno" -> dto.setUanNo(value);
+                    case "pfno" -> dto.setPfNo(value);
+                    case "esino" -> dto.setEsiNo(value);
+                    case "panno" -> dto.setPanNo(value);
+                    case "bankname" -> dto.setBankName(value);
+                    case "bankaccountno" -> dto.setBankAccountNo(value);
+                    case "ifsccode" -> dto.setIfscCode(value);
+                    case "joiningdate" -> dto.setJoiningDate(LocalDate.parse(value));
+                    case "employmenttype" -> dto.setEmploymentType(value);
+                    case "employmentstatus" -> dto.setEmploymentStatus(value);
+                    case "basicsalary" -> dto.setBasicSalary(Double.parseDouble(value));
+                    case "managerid" -> dto.setManagerId(Long.parseLong(value));
+                    default -> {
+                        // unknown columns are ignored
+                    }
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid value for " + column + ": " + value);
+            }
+        }
+        return dto;
+    }
+
+    private static Date toSqlDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+
+    private record PendingRow(long rowNumber, EmployeeRequestDTO dto) {
+    }
+
+    private static class ImportProgress {
+        private long total;
+        private long imported;
+        private long failed;
+        private final List<BulkRowResultDTO> errors = new ArrayList<>();
+
+        void fail(long rowNumber, String employeeCode, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(BulkRowResultDTO.builder()
+                        .rowNumber(rowNumber)
+                        .key(employeeCode)
+                        .status("FAILED")
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
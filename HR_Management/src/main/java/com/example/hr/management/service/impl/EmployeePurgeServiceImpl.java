@@ -0,0 +1,141 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.service.EmployeeCache;
+import com.example.hr.management.service.EmployeePurgeService;
+import com.example.hr.management.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background half of employee deletion. deleteEmployee only stamps deleted_at; this job removes
+ * the employee's dependent rows in small chunks, each in its own short transaction, so a
+ * long-tenured employee never holds locks on attendance/payroll for the whole cascade. The
+ * employee row itself is kept as a change-feed tombstone until the retention window passes.
+ */
+@Slf4j
+@Service
+public class EmployeePurgeServiceImpl implements EmployeePurgeService {
+
+    // Children first so FK constraints on employee_id are satisfied
+    private static final List<String> DEPENDENT_TABLES = List.of(
+            "salary_structures", "attendance", "attendance_monthly_rollup", "leaves", "leave_balances",
+            "payrolls", "shift_assignments", "attendance_events");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int employeesPerRun;
+    private final long tombstoneRetentionHours;
+    private final EmployeeCache employeeCache;
+
+    public EmployeePurgeServiceImpl(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${hr.purge.chunk-size:1000}") int chunkSize,
+            @Value("${hr.purge.employees-per-run:100}") int employeesPerRun,
+            @Value("${hr.employee-changes.tombstone-retention-hours:168}") long tombstoneRetentionHours,
+            EmployeeCache employeeCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.employeesPerRun = Math.max(1, employeesPerRun);
+        this.tombstoneRetentionHours = tombstoneRetentionHours;
+        this.employeeCache = employeeCache;
+    }
+
+    @Scheduled(fixedDelayString = "${hr.purge.interval-ms:60000}", initialDelayString = "${hr.purge.interval-ms:60000}")
+    public void scheduledPurge() {
+        int purged = purgeDeletedEmployees();
+        if (purged > 0) {
+            log.info("Purged {} soft-deleted employees", purged);
+        }
+    }
+
+    @Override
+    public int purgeDeletedEmployees() {
+        List<Long> pendingIds = jdbcTemplate.queryForList(
+                "SELECT id FROM employees WHERE deleted_at IS NOT NULL AND purged_at IS NULL " +
+                        "ORDER BY deleted_at LIMIT ?",
+                Long.class, employeesPerRun);
+
+        int purged = 0;
+        for (Long employeeId : pendingIds) {
+            try {
+                purgeDependents(employeeId);
+                purged++;
+            } catch (DataAccessException e) {
+                // Left in place; the next run retries from where this one stopped
+                log.warn("Failed to purge employee {}: {}", employeeId, e.getMostSpecificCause().getMessage());
+            }
+        }
+
+        // Tombstones past retention can go; change-feed consumers older than that must resync
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(tombstoneRetentionHours));
+        List<Long> expiredIds = jdbcTemplate.queryForList(
+                "SELECT id FROM employees WHERE purged_at IS NOT NULL AND deleted_at < ? ORDER BY deleted_at LIMIT ?",
+                Long.class, cutoff, employeesPerRun);
+        for (Long employeeId : expiredIds) {
+            try {
+                removeTombstone(employeeId);
+            } catch (DataAccessException e) {
+                log.warn("Failed to remove employee tombstone {}: {}", employeeId,
+                        e.getMostSpecificCause().getMessage());
+            }
+        }
+        return purged;
+    }
+
+    private void purgeDependents(Long employeeId) {
+        for (String table : DEPENDENT_TABLES) {
+            String sql = "DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table
+                    + " WHERE employee_id = ? LIMIT ?)";
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> jdbcTemplate.update(sql, employeeId, chunkSize));
+            } while (deleted > 0);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Reports lose their manager; bump updated_at so the change feed and ETags pick it up
+            List<Long> reportIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM employees WHERE manager_id = ?", Long.class, employeeId);
+            jdbcTemplate.update("UPDATE employees SET manager_id = NULL, updated_at = ? WHERE manager_id = ?",
+                    Timestamp.valueOf(LocalDateTime.now()), employeeId);
+            jdbcTemplate.update("UPDATE employees SET purged_at = ? WHERE id = ?",
+                    Timestamp.valueOf(LocalDateTime.now()), employeeId);
+            TransactionUtil.afterCommit(() -> reportIds.forEach(employeeCache::invalidate));
+        });
+    }
+
+    private void removeTombstone(Long employeeId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // The row lock conflicts with the KEY SHARE lock every FK check takes, so no new dependent
+            // row can appear between the re-clear below and the delete
+            List<Long> locked = jdbcTemplate.queryForList(
+                    "SELECT id FROM employees WHERE id = ? AND deleted_at IS NOT NULL FOR UPDATE", Long.class, employeeId);
+            if (locked.isEmpty()) {
+                return;
+            }
+            // Rows written by a request that looked the employee up just before the soft delete
+            for (String table : DEPENDENT_TABLES) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE employee_id = ?", employeeId);
+            }
+            List<Long> userIds = jdbcTemplate.queryForList(
+                    "SELECT user_id FROM employees WHERE id = ? AND user_id IS NOT NULL", Long.class, employeeId);
+            jdbcTemplate.update("DELETE FROM employees WHERE id = ? AND deleted_at IS NOT NULL", employeeId);
+            for (Long userId : userIds) {
+                jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ?", userId);
+                jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+            }
+        });
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.hr.management.service.impl;
 
+import com.example.hr.management.dto.CursorPageDTO;
+import com.example.hr.management.dto.EmployeeChangesDTO;
 import com.example.hr.management.dto.EmployeeRequestDTO;
 import com.example.hr.management.dto.EmployeeResponseDTO;
+import com.example.hr.management.dto.EmployeeSummaryDTO;
+import com.example.hr.management.dto.EmployeeTombstoneDTO;
 import com.example.hr.management.dto.ProfileUpdateRequestDTO;
 import com.example.hr.management.entity.Employee;
 import com.example.hr.management.entity.User;
@@ -9,28 +13,68 @@ import com.example.hr.management.exception.BadRequestException;
 import com.example.hr.management.exception.ResourceNotFoundException;
 import com.example.hr.management.repository.EmployeeRepository;
 import com.example.hr.management.repository.UserRepository;
+import com.example.hr.management.repository.projection.EmployeeNameView;
+import com.example.hr.management.repository.projection.EmployeeSummaryView;
+import com.example.hr.management.service.EmployeeCache;
+import com.example.hr.management.service.EmployeeSearchIndex;
 import com.example.hr.management.service.EmployeeService;
+import com.example.hr.management.service.HeadcountRegistry;
+import com.example.hr.management.service.ProfileImageStorageService;
+import com.example.hr.management.service.ReportingHierarchyIndex;
+import com.example.hr.management.util.TransactionUtil;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final String CURSOR_SEPARATOR = "\u001F";
+    private static final LocalDateTime CHANGES_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // updated_at is stamped by trigger with the writing statement's start time (SchemaExtensions), so a row
+    // not yet committed is never older than its transaction. The horizon stays just behind the oldest open
+    // transaction on this database; everything at or before it has committed or never will
+    private static final String CHANGES_HORIZON_SQL = "SELECT CAST(LEAST(statement_timestamp(), " +
+            "COALESCE(MIN(a.xact_start), statement_timestamp())) AS timestamp) - INTERVAL '1 microsecond' " +
+            "FROM pg_stat_activity a WHERE a.datname = current_database() AND a.backend_type = 'client backend' " +
+            "AND a.pid <> pg_backend_pid() AND a.xact_start IS NOT NULL";
+
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
-    private final com.example.hr.management.repository.AttendanceRepository attendanceRepository;
-    private final com.example.hr.management.repository.PayrollRepository payrollRepository;
-    private final com.example.hr.management.repository.LeaveRepository leaveRepository;
-    private final com.example.hr.management.repository.LeaveBalanceRepository leaveBalanceRepository;
-    private final com.example.hr.management.repository.SalaryStructureRepository salaryStructureRepository;
+    private final EntityManager entityManager;
+    private final ProfileImageStorageService profileImageStorageService;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final ReportingHierarchyIndex reportingHierarchyIndex;
+    private final HeadcountRegistry headcountRegistry;
+    private final EmployeeCache employeeCache;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${hr.employee-changes.tombstone-retention-hours:168}")
+    private long tombstoneRetentionHours;
 
     @Override
     @Transactional
@@ -81,6 +125,11 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
 
         Employee savedEmployee = employeeRepository.save(employee);
+        reindexAfterCommit(savedEmployee);
+        String department = savedEmployee.getDepartment();
+        String employmentStatus = savedEmployee.getEmploymentStatus();
+        long transactionId = headcountRegistry.transactionId();
+        TransactionUtil.afterCommit(() -> headcountRegistry.created(transactionId, department, employmentStatus));
         return mapToResponseDTO(savedEmployee);
     }
 
@@ -88,7 +137,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Transactional
     public EmployeeResponseDTO updateEmployee(Long id, EmployeeRequestDTO dto) {
 
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = employeeRepository.findLiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
 
         if (!employee.getEmployeeCode().equals(dto.getEmployeeCode())
@@ -101,6 +150,14 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new BadRequestException("Email already exists: " + dto.getEmail());
         }
 
+        if (dto.getManagerId() != null && !dto.getManagerId().equals(employee.getManagerId())
+                && reportingHierarchyIndex.wouldCreateCycle(id, dto.getManagerId())) {
+            throw new BadRequestException("Manager assignment would create a reporting cycle");
+        }
+
+        String oldDepartment = employee.getDepartment();
+        String oldStatus = employee.getEmploymentStatus();
+
         employee.setEmployeeCode(dto.getEmployeeCode());
         employee.setFirstName(dto.getFirstName());
         employee.setLastName(dto.getLastName());
@@ -139,20 +196,22 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
 
         Employee updatedEmployee = employeeRepository.save(employee);
+        reindexAfterCommit(updatedEmployee);
+        adjustHeadcountAfterCommit(oldDepartment, oldStatus, updatedEmployee);
         return mapToResponseDTO(updatedEmployee);
     }
 
     @Override
     @Transactional
     public EmployeeResponseDTO updateProfile(Long id, ProfileUpdateRequestDTO dto) {
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = employeeRepository.findLiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
 
         employee.setPhoneNumber(dto.getPhoneNumber());
         employee.setDateOfBirth(dto.getDateOfBirth());
         employee.setGender(dto.getGender());
         if (dto.getProfileImage() != null) {
-            employee.setProfileImage(dto.getProfileImage());
+            employee.setProfileImageHash(profileImageStorageService.storeBase64(dto.getProfileImage()));
         }
         employee.setAddress(dto.getAddress());
         employee.setCity(dto.getCity());
@@ -162,111 +221,424 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setUpdatedAt(LocalDateTime.now());
 
         Employee updatedEmployee = employeeRepository.save(employee);
+        TransactionUtil.afterCommit(() -> employeeCache.invalidate(id));
         return mapToResponseDTO(updatedEmployee);
     }
 
     @Override
     @Transactional
     public EmployeeResponseDTO updateProfileImage(Long id, String base64Image) {
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = employeeRepository.findLiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
 
-        employee.setProfileImage(base64Image);
+        employee.setProfileImageHash(profileImageStorageService.storeBase64(base64Image));
         employee.setUpdatedAt(LocalDateTime.now());
 
         Employee updatedEmployee = employeeRepository.save(employee);
+        TransactionUtil.afterCommit(() -> employeeCache.invalidate(id));
         return mapToResponseDTO(updatedEmployee);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public EmployeeResponseDTO getEmployeeById(Long id) {
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-        return mapToResponseDTO(employee);
+        return employeeCache.getById(id, () -> mapToResponseDTO(employeeRepository.findLiveById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id))));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public EmployeeResponseDTO getEmployeeByUserId(Long userId) {
-        Employee employee = employeeRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("No employee profile found for user id: " + userId));
-        return mapToResponseDTO(employee);
+        return employeeCache.getByUserId(userId, () -> mapToResponseDTO(employeeRepository.findByUserId(userId)
+                .filter(e -> e.getDeletedAt() == null)
+                .orElseThrow(() -> new ResourceNotFoundException("No employee profile found for user id: " + userId))));
     }
 
     @Override
     public EmployeeResponseDTO getEmployeeByCode(String employeeCode) {
-        Employee employee = employeeRepository.findByEmployeeCode(employeeCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with code: " + employeeCode));
-        return mapToResponseDTO(employee);
+        return employeeCache.getByCode(employeeCode, () -> mapToResponseDTO(employeeRepository.findByEmployeeCode(employeeCode)
+                .filter(e -> e.getDeletedAt() == null)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with code: " + employeeCode))));
     }
 
     @Override
     public List<EmployeeResponseDTO> getAllEmployees() {
-        return employeeRepository.findAll().stream()
-                .map(this::mapToResponseDTO)
+        return mapToResponseDTOs(employeeRepository.findByDeletedAtIsNull());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSummaryDTO> getEmployeeSummaries(String department, String status) {
+        List<EmployeeSummaryView> summaries;
+        if (department != null && !department.isBlank()) {
+            summaries = employeeRepository.findSummariesByDepartment(department);
+        } else if (status != null && !status.isBlank()) {
+            summaries = employeeRepository.findSummariesByStatus(status);
+        } else {
+            summaries = employeeRepository.findAllSummaries();
+        }
+        return summaries.stream()
+                .map(this::mapToSummaryDTO)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeChangesDTO getEmployeeChanges(String since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime until = jdbcTemplate.queryForObject(CHANGES_HORIZON_SQL, LocalDateTime.class);
+
+        // Watermark = (updatedAt, id) of the last delivered row plus the time the consumer's view is complete from
+        String[] key = decodeCursor(since, 3);
+        LocalDateTime sinceTime = CHANGES_EPOCH;
+        Long afterId = 0L;
+        LocalDateTime consistentFrom = until;
+        if (key != null) {
+            sinceTime = parseWatermarkTime(key[0], since);
+            afterId = parseCursorId(key[1]);
+            consistentFrom = parseWatermarkTime(key[2], since);
+            // Anything deleted after consistentFrom must still have its tombstone, or deletes could be missed
+            if (consistentFrom.isBefore(LocalDateTime.now().minusHours(tombstoneRetentionHours))) {
+                throw new BadRequestException("Watermark is older than the tombstone retention window; "
+                        + "restart with a full sync (omit since)");
+            }
+        }
+
+        List<Employee> changed = employeeRepository.findChangedAfter(sinceTime, afterId, until,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = changed.size() > pageSize;
+        if (hasMore) {
+            changed = changed.subList(0, pageSize);
+        }
+
+        List<Employee> live = new ArrayList<>();
+        List<EmployeeTombstoneDTO> deleted = new ArrayList<>();
+        for (Employee employee : changed) {
+            if (employee.getDeletedAt() == null) {
+                live.add(employee);
+            } else {
+                deleted.add(EmployeeTombstoneDTO.builder()
+                        .id(employee.getId())
+                        .employeeCode(employee.getEmployeeCode())
+                        .deletedAt(employee.getDeletedAt())
+                        .build());
+            }
+        }
+
+        String nextTime;
+        String nextId;
+        if (changed.isEmpty()) {
+            // Nothing up to the horizon: move the watermark there so idle consumers never expire
+            nextTime = until.toString();
+            nextId = "0";
+        } else {
+            Employee last = changed.get(changed.size() - 1);
+            nextTime = last.getUpdatedAt().toString();
+            nextId = String.valueOf(last.getId());
+        }
+        // Only a caught-up consumer has a complete view as of this poll; mid-catch-up it keeps the older time
+        String nextConsistentFrom = (hasMore ? consistentFrom : until).toString();
+
+        return EmployeeChangesDTO.builder()
+                .updated(mapToResponseDTOs(live))
+                .deleted(deleted)
+                .hasMore(hasMore)
+                .watermark(encodeCursor(nextTime, nextId, nextConsistentFrom))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeResponseDTO> getEmployeePage(String cursor, int size, String sort) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        boolean byDepartment = "department".equalsIgnoreCase(sort);
+        String[] key = decodeCursor(cursor, byDepartment ? 3 : 1);
+
+        // Fetch one extra row to know whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Employee> employees;
+        if (byDepartment) {
+            employees = key == null
+                    ? employeeRepository.findFirstPageByDepartment(limit)
+                    : employeeRepository.findPageAfterDepartmentKey(key[0], key[1], parseCursorId(key[2]), limit);
+        } else {
+            employees = employeeRepository.findPageAfterId(key == null ? 0L : parseCursorId(key[0]), limit);
+        }
+
+        boolean hasMore = employees.size() > pageSize;
+        if (hasMore) {
+            employees = employees.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Employee last = employees.get(employees.size() - 1);
+            nextCursor = byDepartment
+                    ? encodeCursor(last.getDepartment() != null ? last.getDepartment() : "",
+                            last.getLastName(), String.valueOf(last.getId()))
+                    : encodeCursor(String.valueOf(last.getId()));
+        }
+
+        return CursorPageDTO.<EmployeeResponseDTO>builder()
+                .content(mapToResponseDTOs(employees))
+                .size(employees.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .sort(byDepartment ? "department" : "id")
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<EmployeeResponseDTO> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            List<Employee> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+            employees.forEach(employee -> {
+                batch.add(employee);
+                if (batch.size() == STREAM_BATCH_SIZE) {
+                    flushStreamBatch(batch, consumer);
+                }
+            });
+            flushStreamBatch(batch, consumer);
+        }
+    }
+
+    private void flushStreamBatch(List<Employee> batch, Consumer<EmployeeResponseDTO> consumer) {
+        mapToResponseDTOs(batch).forEach(consumer);
+        batch.clear();
+        // Drop already-written rows from the persistence context so heap stays flat
+        entityManager.clear();
+    }
+
     @Override
     public List<EmployeeResponseDTO> getEmployeesByDepartment(String department) {
-        return employeeRepository.findByDepartment(department).stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+        return mapToResponseDTOs(employeeRepository.findByDepartmentAndDeletedAtIsNull(department));
     }
 
     @Override
     public List<EmployeeResponseDTO> getEmployeesByStatus(String status) {
-        return employeeRepository.findByEmploymentStatus(status).stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+        return mapToResponseDTOs(employeeRepository.findByEmploymentStatusAndDeletedAtIsNull(status));
     }
 
     @Override
-    public List<EmployeeResponseDTO> searchEmployees(String keyword) {
-        return employeeRepository.searchEmployees(keyword).stream()
-                .map(this::mapToResponseDTO)
+    @Transactional(readOnly = true)
+    public List<EmployeeResponseDTO> searchEmployees(String keyword, int limit) {
+        int maxResults = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (!employeeSearchIndex.isReady()) {
+            return mapToResponseDTOs(employeeRepository.searchEmployees(keyword).stream()
+                    .limit(maxResults)
+                    .collect(Collectors.toList()));
+        }
+
+        List<Long> rankedIds = employeeSearchIndex.search(keyword, maxResults);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Employee> employeesById = employeeRepository.findLiveByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(Employee::getId, employee -> employee));
+        List<Employee> ranked = rankedIds.stream()
+                .map(employeesById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        return mapToResponseDTOs(ranked);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSummaryDTO> getAllReports(Long managerId) {
+        requireEmployeeExists(managerId);
+        return loadSummariesInOrder(reportingHierarchyIndex.allReports(managerId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSummaryDTO> getReportingChain(Long employeeId) {
+        requireEmployeeExists(employeeId);
+        return loadSummariesInOrder(reportingHierarchyIndex.reportingChain(employeeId));
+    }
+
+    @Override
+    public boolean isInReportingLine(Long managerId, Long employeeId) {
+        return reportingHierarchyIndex.isInSubtree(managerId, employeeId);
+    }
+
+    @Override
+    public int getReportingDepth(Long employeeId) {
+        return reportingHierarchyIndex.depth(employeeId);
     }
 
     @Override
     @Transactional
     public void deleteEmployee(Long id) {
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = employeeRepository.findLiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
 
-        // Delete related records first to satisfy FK constraints
-        salaryStructureRepository.deleteByEmployeeId(id);
-        attendanceRepository.deleteByEmployeeId(id);
-        leaveRepository.deleteByEmployeeId(id);
-        leaveBalanceRepository.deleteByEmployeeId(id);
-        payrollRepository.deleteByEmployeeId(id);
+        String oldDepartment = employee.getDepartment();
+        String oldStatus = employee.getEmploymentStatus();
 
-        // Handle User deletion
-        Long userId = null;
+        // Soft delete: hide the employee now, EmployeePurgeService removes dependent rows later
+        employee.setEmploymentStatus("DELETED");
+        employee.setDeletedAt(LocalDateTime.now());
+        employee.setUpdatedAt(LocalDateTime.now());
         if (employee.getUser() != null) {
-            userId = employee.getUser().getId();
+            employee.getUser().setEnabled(false);
         }
+        employeeRepository.save(employee);
+
+        long transactionId = headcountRegistry.transactionId();
+        TransactionUtil.afterCommit(() -> {
+            employeeSearchIndex.remove(id);
+            reportingHierarchyIndex.remove(id);
+            headcountRegistry.removed(transactionId, oldDepartment, oldStatus);
+            employeeCache.invalidate(id);
+        });
+    }
 
-        employeeRepository.delete(employee);
-
-        // Delete associated User account if exists
-        if (userId != null) {
-            userRepository.deleteById(userId);
-        }
+    @Override
+    public Map<String, Object> getCacheStats() {
+        return employeeCache.stats();
     }
 
     @Override
     public Long getActiveEmployeeCount() {
-        return employeeRepository.countActiveEmployees();
+        if (!headcountRegistry.isReady()) {
+            return employeeRepository.countActiveEmployees();
+        }
+        return headcountRegistry.countByStatus("ACTIVE");
     }
 
     @Override
     public Long getEmployeeCountByDepartment(String department) {
-        return employeeRepository.countByDepartment(department);
+        if (!headcountRegistry.isReady()) {
+            return employeeRepository.countByDepartment(department);
+        }
+        return headcountRegistry.countByDepartment(department);
+    }
+
+    private void requireEmployeeExists(Long id) {
+        if (employeeRepository.findLiveById(id).isEmpty()) {
+            throw new ResourceNotFoundException("Employee not found with id: " + id);
+        }
+    }
+
+    private List<EmployeeSummaryDTO> loadSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, EmployeeSummaryView> byId = employeeRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(EmployeeSummaryView::getId, view -> view));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToSummaryDTO)
+                .collect(Collectors.toList());
+    }
+
+    private void reindexAfterCommit(Employee employee) {
+        Long id = employee.getId();
+        Long managerId = employee.getManagerId();
+        TransactionUtil.afterCommit(() -> reportingHierarchyIndex.setManager(id, managerId));
+        TransactionUtil.afterCommit(() -> employeeCache.invalidate(id));
+        String firstName = employee.getFirstName();
+        String lastName = employee.getLastName();
+        String email = employee.getEmail();
+        String employeeCode = employee.getEmployeeCode();
+        TransactionUtil.afterCommit(() -> employeeSearchIndex.index(id, firstName, lastName, email, employeeCode));
+    }
+
+    private void adjustHeadcountAfterCommit(String oldDepartment, String oldStatus, Employee employee) {
+        String newDepartment = employee.getDepartment();
+        String newStatus = employee.getEmploymentStatus();
+        if (Objects.equals(oldDepartment, newDepartment) && Objects.equals(oldStatus, newStatus)) {
+            return;
+        }
+        long transactionId = headcountRegistry.transactionId();
+        TransactionUtil.afterCommit(() -> headcountRegistry.moved(transactionId, oldDepartment, oldStatus,
+                newDepartment, newStatus));
+    }
+
+    private String encodeCursor(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(CURSOR_SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor, int expectedParts) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(CURSOR_SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new BadRequestException("Invalid cursor for the requested sort order");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private LocalDateTime parseWatermarkTime(String value, String watermark) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid watermark: " + watermark);
+        }
+    }
+
+    private Long parseCursorId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor id: " + id);
+        }
+    }
+
+    private EmployeeSummaryDTO mapToSummaryDTO(EmployeeSummaryView view) {
+        return EmployeeSummaryDTO.builder()
+                .id(view.getId())
+                .employeeCode(view.getEmployeeCode())
+                .firstName(view.getFirstName())
+                .lastName(view.getLastName())
+                .fullName(view.getFirstName() + " " + view.getLastName())
+                .email(view.getEmail())
+                .phoneNumber(view.getPhoneNumber())
+                .department(view.getDepartment())
+                .designation(view.getDesignation())
+                .employmentType(view.getEmploymentType())
+                .employmentStatus(view.getEmploymentStatus())
+                .joiningDate(view.getJoiningDate())
+                .basicSalary(view.getBasicSalary())
+                .managerId(view.getManagerId())
+                .profileImage(ProfileImageStorageService.urlFor(view.getProfileImageHash()))
+                .userId(view.getUserId())
+                .build();
     }
 
     private EmployeeResponseDTO mapToResponseDTO(Employee employee) {
+        return mapToResponseDTO(employee, resolveManagerNames(Collections.singletonList(employee)));
+    }
+
+    // Resolves every manager on the page with one IN query instead of a findById per row
+    private List<EmployeeResponseDTO> mapToResponseDTOs(List<Employee> employees) {
+        Map<Long, String> managerNames = resolveManagerNames(employees);
+        return employees.stream()
+                .map(employee -> mapToResponseDTO(employee, managerNames))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, String> resolveManagerNames(List<Employee> employees) {
+        Set<Long> managerIds = employees.stream()
+                .map(Employee::getManagerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (managerIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return employeeRepository.findNamesByIdIn(managerIds).stream()
+                .collect(Collectors.toMap(EmployeeNameView::getId,
+                        manager -> manager.getFirstName() + " " + manager.getLastName()));
+    }
+
+    private EmployeeResponseDTO mapToResponseDTO(Employee employee, Map<Long, String> managerNames) {
         EmployeeResponseDTO dto = EmployeeResponseDTO.builder()
                 .id(employee.getId())
                 .employeeCode(employee.getEmployeeCode())
@@ -277,7 +649,8 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .phoneNumber(employee.getPhoneNumber())
                 .dateOfBirth(employee.getDateOfBirth())
                 .gender(employee.getGender())
-                .profileImage(employee.getProfileImage())
+                .profileImage(ProfileImageStorageService.urlFor(employee.getProfileImageHash()))
+                .profileImageHash(employee.getProfileImageHash())
                 .address(employee.getAddress())
                 .city(employee.getCity())
                 .state(employee.getState())
@@ -306,8 +679,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
 
         if (employee.getManagerId() != null) {
-            employeeRepository.findById(employee.getManagerId())
-                    .ifPresent(manager -> dto.setManagerName(manager.getFirstName() + " " + manager.getLastName()));
+            dto.setManagerName(managerNames.get(employee.getManagerId()));
         }
 
         if (employee.getUser() != null) {
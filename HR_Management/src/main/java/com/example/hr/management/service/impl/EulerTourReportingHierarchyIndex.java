@@ -0,0 +1,268 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.repository.EmployeeRepository;
+import com.example.hr.management.repository.projection.EmployeeManagerLink;
+import com.example.hr.management.service.ReportingHierarchyIndex;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Euler-tour interval index over the managerId tree. Every employee gets an entry/exit
+ * position from a depth-first walk, so "is X under M" is two integer comparisons and
+ * "all reports of M" is a contiguous slice of the tour.
+ *
+ * Writes update managerOf at once and queue an O(n) rebuild of the tour on a background thread;
+ * a burst of writes coalesces into one or two rebuilds, and reads keep using the previous tour
+ * until the new one is published, so isInSubtree may trail a write by one rebuild. The cycle guard
+ * on manager changes cannot afford that and uses wouldCreateCycle, which walks managerOf instead.
+ */
+@Service
+public class EulerTourReportingHierarchyIndex implements ReportingHierarchyIndex {
+
+    private static final Long NO_MANAGER = 0L;
+
+    private final EmployeeRepository employeeRepository;
+
+    // employeeId -> managerId (NO_MANAGER for roots); source of truth for the tour
+    private final Map<Long, Long> managerOf = new ConcurrentHashMap<>();
+    // Bumped on every change to managerOf; a tour built from an older state never replaces a newer one
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final ExecutorService builder;
+    private volatile Tour tour = Tour.EMPTY;
+    private long tourVersion;
+
+    public EulerTourReportingHierarchyIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+        this.builder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reporting-hierarchy-builder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        builder.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public void rebuild() {
+        List<EmployeeManagerLink> links = employeeRepository.findAllManagerLinks();
+        synchronized (this) {
+            managerOf.clear();
+            for (EmployeeManagerLink link : links) {
+                managerOf.put(link.getId(), link.getManagerId() != null ? link.getManagerId() : NO_MANAGER);
+            }
+            long built = version.incrementAndGet();
+            tour = Tour.build(new HashMap<>(managerOf));
+            tourVersion = built;
+        }
+    }
+
+    @Override
+    public void setManager(Long employeeId, Long managerId) {
+        managerOf.put(employeeId, managerId != null ? managerId : NO_MANAGER);
+        version.incrementAndGet();
+        scheduleRebuild();
+    }
+
+    @Override
+    public void remove(Long employeeId) {
+        managerOf.remove(employeeId);
+        version.incrementAndGet();
+        scheduleRebuild();
+    }
+
+    // O(depth) walk up the live managerOf; a cycle ends the walk like a root would
+    @Override
+    public boolean isInSubtree(Long managerId, Long employeeId) {
+        Tour current = tour;
+        Integer m = current.position.get(managerId);
+        Integer e = current.position.get(employeeId);
+        if (m == null || e == null || m.equals(e)) {
+            return false;
+        }
+        return current.enter[m] < current.enter[e] && current.exit[e] <= current.exit[m];
+    }
+
+    // O(depth) walk up the live edges from the proposed manager
+    @Override
+    public boolean wouldCreateCycle(Long employeeId, Long newManagerId) {
+        if (employeeId == null || newManagerId == null) {
+            return false;
+        }
+        Set<Long> seen = new HashSet<>();
+        Long current = newManagerId;
+        while (current != null && !NO_MANAGER.equals(current) && seen.add(current)) {
+            if (current.equals(employeeId)) {
+                return true;
+            }
+            current = managerOf.get(current);
+        }
+        return false;
+    }
+
+    @Override
+    public int depth(Long employeeId) {
+        Tour current = tour;
+        Integer p = current.position.get(employeeId);
+        return p != null ? current.depth[p] : 0;
+    }
+
+    @Override
+    public List<Long> allReports(Long managerId) {
+        Tour current = tour;
+        Integer m = current.position.get(managerId);
+        if (m == null) {
+            return Collections.emptyList();
+        }
+        List<Long> reports = new ArrayList<>(current.exit[m] - current.enter[m]);
+        for (int i = current.enter[m] + 1; i <= current.exit[m]; i++) {
+            reports.add(current.order[i]);
+        }
+        return reports;
+    }
+
+    @Override
+    public List<Long> reportingChain(Long employeeId) {
+        Tour current = tour;
+        List<Long> chain = new ArrayList<>();
+        Integer p = current.position.get(employeeId);
+        while (p != null && current.parent[p] >= 0) {
+            p = current.parent[p];
+            chain.add(current.order[current.enter[p]]);
+        }
+        return chain;
+    }
+
+    // Writes landing after the flag is cleared queue another run, so the last one is always reflected
+    private void scheduleRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                rebuildQueued.set(false);
+                long built = version.get();
+                Tour fresh = Tour.build(new HashMap<>(managerOf));
+                synchronized (this) {
+                    if (built >= tourVersion) {
+                        tour = fresh;
+                        tourVersion = built;
+                    }
+                }
+            });
+        }
+    }
+
+    private static final class Tour {
+
+        static final Tour EMPTY = build(Collections.emptyMap());
+
+        // Employee id -> node index; enter/exit hold each node's tour interval
+        final Map<Long, Integer> position = new HashMap<>();
+        int[] enter;
+        int[] exit;
+        int[] depth;
+        int[] parent;
+        long[] order;
+
+        static Tour build(Map<Long, Long> managerOf) {
+            Tour t = new Tour();
+            int n = managerOf.size();
+            long[] ids = new long[n];
+            int idx = 0;
+            for (Long id : managerOf.keySet()) {
+                t.position.put(id, idx);
+                ids[idx++] = id;
+            }
+
+            // Children lists; unknown managers and self-references make a node a root
+            List<List<Integer>> children = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                children.add(new ArrayList<>());
+            }
+            t.parent = new int[n];
+            List<Integer> roots = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                Integer p = t.position.get(managerOf.get(ids[i]));
+                if (p == null || p == i) {
+                    t.parent[i] = -1;
+                    roots.add(i);
+                } else {
+                    t.parent[i] = p;
+                    children.get(p).add(i);
+                }
+            }
+
+            t.enter = new int[n];
+            t.exit = new int[n];
+            t.depth = new int[n];
+            t.order = new long[n];
+            boolean[] visited = new boolean[n];
+            int[] clock = { 0 };
+            for (int root : roots) {
+                walk(t, root, children, visited, clock);
+            }
+            // Nodes caught in a cycle are unreachable from any root; break the cycle at the first one
+            for (int i = 0; i < n; i++) {
+                if (!visited[i]) {
+                    t.parent[i] = -1;
+                    walk(t, i, children, visited, clock);
+                }
+            }
+
+            // Map tour positions back to employee ids
+            for (int i = 0; i < n; i++) {
+                t.order[t.enter[i]] = ids[i];
+            }
+            return t;
+        }
+
+        // Iterative DFS so deep org charts cannot overflow the stack
+        private static void walk(Tour t, int start, List<List<Integer>> children, boolean[] visited, int[] clock) {
+            Deque<int[]> stack = new ArrayDeque<>();
+            visited[start] = true;
+            t.enter[start] = clock[0]++;
+            t.depth[start] = 0;
+            stack.push(new int[] { start, 0 });
+            while (!stack.isEmpty()) {
+                int[] frame = stack.peek();
+                List<Integer> kids = children.get(frame[0]);
+                if (frame[1] < kids.size()) {
+                    int child = kids.get(frame[1]++);
+                    if (!visited[child]) {
+                        visited[child] = true;
+                        t.parent[child] = frame[0];
+                        t.enter[child] = clock[0]++;
+                        t.depth[child] = t.depth[frame[0]] + 1;
+                        stack.push(new int[] { child, 0 });
+                    }
+                } else {
+                    t.exit[frame[0]] = clock[0] - 1;
+                    stack.pop();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.service.ExportService;
+import com.example.hr.management.util.CsvUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSetMetaData;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes exports row by row from a forward-only JDBC cursor. Inside a transaction the Postgres
+ * driver honours the fetch size, so only one fetch window is ever held in memory.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final String EMPLOYEE_EXPORT_SQL = "SELECT id, employee_code, first_name, last_name, email, " +
+            "phone_number, department, designation, employment_type, employment_status, joining_date, " +
+            "basic_salary, manager_id, created_at, updated_at FROM employees WHERE deleted_at IS NULL ORDER BY id";
+
+    private static final String ATTENDANCE_EXPORT_SQL = "SELECT a.id, a.employee_id, e.employee_code, " +
+            "e.first_name, e.last_name, a.attendance_date, a.clock_in_time, a.clock_out_time, a.status, " +
+            "a.is_late, a.late_minutes, a.working_hours, a.remarks " +
+            "FROM attendance a JOIN employees e ON e.id = a.employee_id " +
+            "WHERE a.attendance_date BETWEEN ? AND ? AND e.deleted_at IS NULL ORDER BY a.attendance_date, a.employee_id";
+
+    private final JdbcTemplate exportJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter jsonWriter;
+
+    public ExportServiceImpl(DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${hr.export.fetch-size:1000}") int fetchSize) {
+        this.exportJdbcTemplate = new JdbcTemplate(dataSource);
+        this.exportJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonWriter = objectMapper.writer();
+    }
+
+    @Override
+    public void exportEmployees(String format, OutputStream outputStream) {
+        export(EMPLOYEE_EXPORT_SQL, format, outputStream);
+    }
+
+    @Override
+    public void exportAttendance(LocalDate from, LocalDate to, String format, OutputStream outputStream) {
+        export(ATTENDANCE_EXPORT_SQL, format, outputStream, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private void export(String sql, String format, OutputStream outputStream, Object... args) {
+        boolean ndjson = FORMAT_NDJSON.equalsIgnoreCase(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        readOnlyTransaction.executeWithoutResult(status -> exportJdbcTemplate.query(sql, (ResultSetExtractor<Void>) rs -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            int columns = meta.getColumnCount();
+            String[] labels = new String[columns];
+            for (int i = 0; i < columns; i++) {
+                labels[i] = meta.getColumnLabel(i + 1);
+            }
+            try {
+                if (!ndjson) {
+                    writeCsvRow(writer, labels);
+                }
+                Object[] values = new Object[columns];
+                while (rs.next()) {
+                    for (int i = 0; i < columns; i++) {
+                        values[i] = toJavaTime(rs.getObject(i + 1));
+                    }
+                    if (ndjson) {
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        for (int i = 0; i < columns; i++) {
+                            row.put(labels[i], values[i]);
+                        }
+                        writer.write(jsonWriter.writeValueAsString(row));
+                        writer.write('\n');
+                    } else {
+                        writeCsvRow(writer, values);
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error writing export", e);
+            }
+            return null;
+        }, args));
+    }
+
+    private void writeCsvRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(CsvUtil.escape(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private Object toJavaTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof Time time) {
+            return time.toLocalTime();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.exception.BadRequestException;
+import com.example.hr.management.exception.ResourceNotFoundException;
+import com.example.hr.management.service.ProfileImageStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+@Service
+public class FileSystemProfileImageStorageService implements ProfileImageStorageService {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path rootDir;
+    private final long maxBytes;
+
+    public FileSystemProfileImageStorageService(
+            @Value("${hr.profile-images.dir:uploads/profile-images}") String rootDir,
+            @Value("${hr.profile-images.max-bytes:5242880}") long maxBytes) {
+        this.rootDir = Paths.get(rootDir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public String store(byte[] content) {
+        if (content == null || content.length == 0) {
+            throw new BadRequestException("Profile image is empty");
+        }
+        if (content.length > maxBytes) {
+            throw new BadRequestException("Profile image exceeds " + maxBytes + " bytes");
+        }
+        if (detectContentType(content) == null) {
+            throw new BadRequestException("Profile image must be a PNG, JPEG, GIF or WEBP file");
+        }
+
+        String hash = sha256(content);
+        Path target = pathFor(hash);
+        if (Files.exists(target)) {
+            return hash; // identical content already stored
+        }
+
+        try {
+            Files.createDirectories(target.getParent());
+            // Write to a temp file first so readers never see a partial image
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error storing profile image", e);
+        }
+        return hash;
+    }
+
+    @Override
+    public String storeBase64(String base64Image) {
+        if (base64Image == null || base64Image.isBlank()) {
+            throw new BadRequestException("Profile image is required");
+        }
+        String payload = base64Image;
+        int comma = payload.indexOf(',');
+        if (payload.startsWith("data:") && comma > 0) {
+            payload = payload.substring(comma + 1);
+        }
+        try {
+            return store(Base64.getMimeDecoder().decode(payload));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Profile image is not valid base64");
+        }
+    }
+
+    @Override
+    public Path locate(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            throw new ResourceNotFoundException("Profile image not found");
+        }
+        Path path = pathFor(hash);
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("Profile image not found: " + hash);
+        }
+        return path;
+    }
+
+    @Override
+    public String detectContentType(byte[] header) {
+        if (header.length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N'
+                && header[3] == 'G') {
+            return "image/png";
+        }
+        if (header.length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8
+                && (header[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (header.length >= 4 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return "image/gif";
+        }
+        if (header.length >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    // Shard by the first two hex chars to keep directories small
+    private Path pathFor(String hash) {
+        return rootDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.dto.AttendanceResponseDTO;
+import com.example.hr.management.exception.BadRequestException;
+import com.example.hr.management.exception.ResourceNotFoundException;
+import com.example.hr.management.exception.ServiceBusyException;
+import com.example.hr.management.service.AttendanceEventLog;
+import com.example.hr.management.service.AttendanceEventLog.EventKey;
+import com.example.hr.management.service.AttendanceHeatmapIndex;
+import com.example.hr.management.service.AttendanceRollupService;
+import com.example.hr.management.service.AttendanceRollupService.RollupKey;
+import com.example.hr.management.service.ClockEventIngestor;
+import com.example.hr.management.service.ShiftScheduleIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for clock-in/clock-out bursts. Request threads put events on a bounded queue and
+ * wait; a single writer thread drains whatever has arrived within a few milliseconds and applies
+ * it as one multi-row INSERT ... ON CONFLICT DO NOTHING (clock-in) and one UPDATE ... FROM VALUES
+ * (clock-out) in a single transaction. Futures complete only after that transaction commits.
+ * The heatmap and monthly rollups are then updated on a second thread, several batches at a time,
+ * so the writer goes straight back to the queue.
+ */
+@Slf4j
+@Service
+public class GroupCommitClockEventIngestor implements ClockEventIngestor {
+
+    private static final String RETURNING = " RETURNING a.id, a.employee_id, a.attendance_date, a.clock_in_time, " +
+            "a.clock_out_time, a.status, a.remarks, a.working_hours, a.is_late, a.late_minutes, a.created_at, a.updated_at";
+
+    private static final String CLOCK_IN_SQL = "INSERT INTO attendance AS a (employee_id, attendance_date, " +
+            "clock_in_time, status, is_late, late_minutes, created_at, updated_at) VALUES ";
+
+    private static final String CLOCK_IN_ROW = "(?, ?, ?, 'PRESENT', ?, ?, ?, ?)";
+
+    private static final String CLOCK_IN_CONFLICT = " ON CONFLICT (employee_id, attendance_date) DO NOTHING";
+
+    // Working hours match the old Java calculation: whole minutes / 60, rounded to 2 decimals.
+    // Measured between full timestamps so a clock-out after midnight counts from the evening before
+    private static final String CLOCK_OUT_SQL = "UPDATE attendance a SET clock_out_time = v.clock_out, " +
+            "working_hours = CASE WHEN a.clock_in_time IS NULL THEN a.working_hours ELSE " +
+            "ROUND(CAST(TRUNC(EXTRACT(EPOCH FROM ((v.clock_out_date + v.clock_out) - " +
+            "(a.attendance_date + a.clock_in_time))) / 60) / 60.0 AS NUMERIC), 2) END, " +
+            "updated_at = v.updated_at FROM (VALUES ";
+
+    private static final String CLOCK_OUT_ROW = "(CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS DATE), " +
+            "CAST(? AS TIME), CAST(? AS TIMESTAMP))";
+
+    private static final String CLOCK_OUT_WHERE = ") AS v(employee_id, attendance_date, clock_out_date, clock_out, " +
+            "updated_at) " +
+            "WHERE a.employee_id = v.employee_id AND a.attendance_date = v.attendance_date AND a.clock_out_time IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AttendanceRollupService attendanceRollupService;
+    private final ShiftScheduleIndex shiftScheduleIndex;
+    private final AttendanceHeatmapIndex attendanceHeatmapIndex;
+    private final AttendanceEventLog attendanceEventLog;
+    private final BlockingQueue<ClockEvent> queue;
+    private final BlockingQueue<List<AttendanceResponseDTO>> committed;
+    private final int maxBatch;
+    private final long lingerNanos;
+    private final long ackTimeoutMillis;
+    private final Thread writer;
+    private final Thread indexer;
+    private volatile boolean running = true;
+
+    public GroupCommitClockEventIngestor(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            AttendanceRollupService attendanceRollupService,
+            ShiftScheduleIndex shiftScheduleIndex,
+            AttendanceHeatmapIndex attendanceHeatmapIndex,
+            AttendanceEventLog attendanceEventLog,
+            @Value("${hr.clock-ingest.queue-capacity:10000}") int queueCapacity,
+            @Value("${hr.clock-ingest.max-batch:500}") int maxBatch,
+            @Value("${hr.clock-ingest.linger-ms:5}") long lingerMillis,
+            @Value("${hr.clock-ingest.ack-timeout-ms:10000}") long ackTimeoutMillis,
+            @Value("${hr.clock-ingest.index-queue-capacity:100}") int indexQueueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.attendanceRollupService = attendanceRollupService;
+        this.shiftScheduleIndex = shiftScheduleIndex;
+        this.attendanceHeatmapIndex = attendanceHeatmapIndex;
+        this.attendanceEventLog = attendanceEventLog;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.maxBatch = Math.max(1, maxBatch);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+        this.ackTimeoutMillis = ackTimeoutMillis;
+        this.writer = new Thread(this::runWriter, "clock-event-writer");
+        this.writer.setDaemon(true);
+        // Bounded in batches; a full queue makes the writer wait rather than lose updates
+        this.committed = new ArrayBlockingQueue<>(Math.max(1, indexQueueCapacity));
+        this.indexer = new Thread(this::runIndexer, "clock-event-indexer");
+        this.indexer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+        indexer.start();
+    }
+
+    // Stops accepting events and lets the writer flush what is already queued
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        indexer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Override
+    public AttendanceResponseDTO clockIn(Long employeeId, LocalDateTime at) {
+        return submit(new ClockEvent(true, employeeId, at.toLocalDate(), at.toLocalTime()));
+    }
+
+    @Override
+    public AttendanceResponseDTO clockOut(Long employeeId, LocalDateTime at) {
+        return submit(new ClockEvent(false, employeeId, at.toLocalDate(), at.toLocalTime()));
+    }
+
+    private AttendanceResponseDTO submit(ClockEvent event) {
+        if (!running || !queue.offer(event)) {
+            throw new ServiceBusyException("Attendance service is busy, please retry");
+        }
+        try {
+            return event.result.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for attendance to be recorded");
+        } catch (TimeoutException e) {
+            // The event may still commit; the client should check today's attendance before retrying
+            throw new ServiceBusyException("Attendance was not confirmed in time, please check today's record");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void runWriter() {
+        List<ClockEvent> batch = new ArrayList<>(maxBatch);
+        List<ClockEvent> deferred = new ArrayList<>();
+        while (running || !queue.isEmpty() || !deferred.isEmpty()) {
+            try {
+                batch.addAll(deferred);
+                deferred.clear();
+                if (batch.isEmpty()) {
+                    ClockEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    ClockEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch, deferred);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Clock event batch failed", e);
+                for (ClockEvent event : batch) {
+                    event.result.completeExceptionally(
+                            new BadRequestException("Error saving attendance record: " + e.getMessage()));
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+        for (ClockEvent event : queue) {
+            event.result.completeExceptionally(new ServiceBusyException("Attendance service is shutting down"));
+        }
+    }
+
+    // The first event per (employee, day, direction) goes in this batch; repeats wait for the next one
+    private void writeBatch(List<ClockEvent> batch, List<ClockEvent> deferred) {
+        List<ClockEvent> events = new ArrayList<>(batch.size());
+        Set<String> seen = new HashSet<>();
+        for (ClockEvent event : batch) {
+            if (seen.add(event.key())) {
+                events.add(event);
+            } else {
+                deferred.add(event);
+            }
+        }
+
+        Map<ClockEvent, Object> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> apply(events));
+        } catch (DataAccessException batchFailure) {
+            // One bad event must not fail its neighbours; retry each on its own
+            log.warn("Clock event batch of {} failed, retrying individually: {}", events.size(),
+                    batchFailure.getMostSpecificCause().getMessage());
+            outcomes = new IdentityHashMap<>();
+            for (ClockEvent event : events) {
+                try {
+                    outcomes.putAll(transactionTemplate.execute(status -> apply(List.of(event))));
+                } catch (DataAccessException e) {
+                    outcomes.put(event, new BadRequestException(
+                            "Error saving attendance record: " + e.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+
+        // Committed at this point
+        List<AttendanceResponseDTO> written = new ArrayList<>(events.size());
+        for (ClockEvent event : events) {
+            Object outcome = outcomes.get(event);
+            if (outcome instanceof AttendanceResponseDTO dto) {
+                event.result.complete(dto);
+                written.add(dto);
+            } else {
+                event.result.completeExceptionally((RuntimeException) outcome);
+            }
+        }
+        if (!written.isEmpty()) {
+            try {
+                committed.put(written);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runIndexer() {
+        List<List<AttendanceResponseDTO>> batches = new ArrayList<>();
+        while (writer.isAlive() || !committed.isEmpty()) {
+            try {
+                List<AttendanceResponseDTO> first = committed.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batches.add(first);
+                committed.drainTo(batches);
+                updateDerived(batches);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // The nightly rollup rebuild and heatmap reconcile repair whatever was missed
+                log.error("Updating heatmap and rollups for clock events failed", e);
+            } finally {
+                batches.clear();
+            }
+        }
+    }
+
+    // One rollup statement for everything drained
+    private void updateDerived(List<List<AttendanceResponseDTO>> batches) {
+        Set<RollupKey> touched = new LinkedHashSet<>();
+        for (List<AttendanceResponseDTO> rows : batches) {
+            for (AttendanceResponseDTO dto : rows) {
+                touched.add(RollupKey.of(dto.getEmployeeId(), dto.getAttendanceDate()));
+                attendanceHeatmapIndex.record(dto.getEmployeeId(), dto.getAttendanceDate(), dto.getStatus(),
+                        Boolean.TRUE.equals(dto.getIsLate()));
+            }
+        }
+        attendanceRollupService.refresh(touched);
+    }
+
+    private Map<ClockEvent, Object> apply(List<ClockEvent> events) {
+        Map<ClockEvent, Object> outcomes = new IdentityHashMap<>();
+        Map<Long, String[]> employees = loadEmployees(events);
+
+        List<ClockEvent> clockIns = new ArrayList<>();
+        List<ClockEvent> clockOuts = new ArrayList<>();
+        for (ClockEvent event : events) {
+            if (!employees.containsKey(event.employeeId)) {
+                outcomes.put(event, new ResourceNotFoundException("Employee not found with id: " + event.employeeId));
+            } else if (event.clockIn) {
+                clockIns.add(event);
+            } else {
+                clockOuts.add(event);
+            }
+        }
+
+        // Clock-ins first so a clock-out in the same batch sees the new row
+        if (!clockIns.isEmpty()) {
+            List<AttendanceResponseDTO> rows = insertClockIns(clockIns, employees);
+            attendanceEventLog.append(AttendanceEventLog.CLOCK_IN, eventKeys(rows));
+            Map<String, AttendanceResponseDTO> inserted = index(rows);
+            for (ClockEvent event : clockIns) {
+                AttendanceResponseDTO dto = inserted.get(event.rowKey());
+                outcomes.put(event, dto != null ? dto : clockInFailure(event));
+            }
+        }
+        if (!clockOuts.isEmpty()) {
+            List<AttendanceResponseDTO> rows = new ArrayList<>(updateClockOuts(clockOuts, false, employees));
+            Map<String, AttendanceResponseDTO> updated = index(rows);
+            // Nothing open today: close last night's row for anyone whose shift yesterday ran past midnight
+            List<ClockEvent> overnight = clockOuts.stream()
+                    .filter(event -> !updated.containsKey(event.rowKey()) && workedOvernight(event))
+                    .toList();
+            if (!overnight.isEmpty()) {
+                List<AttendanceResponseDTO> previousDay = updateClockOuts(overnight, true, employees);
+                rows.addAll(previousDay);
+                updated.putAll(index(previousDay));
+            }
+            attendanceEventLog.append(AttendanceEventLog.CLOCK_OUT, eventKeys(rows));
+            for (ClockEvent event : clockOuts) {
+                AttendanceResponseDTO dto = updated.get(event.rowKey());
+                if (dto == null && workedOvernight(event)) {
+                    dto = updated.get(event.previousRowKey());
+                }
+                outcomes.put(event, dto != null ? dto : clockOutFailure(event));
+            }
+        }
+        return outcomes;
+    }
+
+    private List<AttendanceResponseDTO> insertClockIns(List<ClockEvent> events, Map<Long, String[]> employees) {
+        StringBuilder sql = new StringBuilder(CLOCK_IN_SQL);
+        List<Object> params = new ArrayList<>(events.size() * 7);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < events.size(); i++) {
+            ClockEvent event = events.get(i);
+            // In-memory schedule lookup; no query per event
+            Integer lateMinutes = shiftScheduleIndex.lateMinutes(event.employeeId, event.date, event.time);
+            sql.append(i == 0 ? "" : ", ").append(CLOCK_IN_ROW);
+            params.add(event.employeeId);
+            params.add(Date.valueOf(event.date));
+            params.add(event.time);
+            params.add(lateMinutes != null);
+            params.add(lateMinutes);
+            params.add(now);
+            params.add(now);
+        }
+        sql.append(CLOCK_IN_CONFLICT).append(RETURNING);
+        return jdbcTemplate.query(sql.toString(), rowMapper(employees), params.toArray());
+    }
+
+    private List<AttendanceResponseDTO> updateClockOuts(List<ClockEvent> events, boolean previousDay,
+            Map<Long, String[]> employees) {
+        StringBuilder sql = new StringBuilder(CLOCK_OUT_SQL);
+        List<Object> params = new ArrayList<>(events.size() * 5);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < events.size(); i++) {
+            ClockEvent event = events.get(i);
+            sql.append(i == 0 ? "" : ", ").append(CLOCK_OUT_ROW);
+            params.add(event.employeeId);
+            params.add(Date.valueOf(previousDay ? event.date.minusDays(1) : event.date));
+            params.add(Date.valueOf(event.date));
+            params.add(event.time);
+            params.add(now);
+        }
+        sql.append(CLOCK_OUT_WHERE).append(RETURNING);
+        return jdbcTemplate.query(sql.toString(), rowMapper(employees), params.toArray());
+    }
+
+    // Only reached for conflicting clock-ins; a row without a clock-in was written by close-out or a bulk mark
+    private RuntimeException clockInFailure(ClockEvent event) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT status, clock_in_time FROM attendance WHERE employee_id = ? AND attendance_date = ?",
+                event.employeeId, Date.valueOf(event.date));
+        if (rows.isEmpty() || rows.get(0).get("clock_in_time") != null) {
+            return new BadRequestException("Employee already clocked in today");
+        }
+        return new BadRequestException("Attendance for today is already recorded as " + rows.get(0).get("status"));
+    }
+
+    // In-memory schedule lookup, so the second clock-out pass only runs for overnight rosters
+    private boolean workedOvernight(ClockEvent event) {
+        ShiftScheduleIndex.ExpectedShift shift = shiftScheduleIndex.expectedShift(event.employeeId,
+                event.date.minusDays(1));
+        return shift != null && shift.overnight();
+    }
+
+    // Only reached for failed clock-outs, so the extra lookup stays off the hot path
+    private RuntimeException clockOutFailure(ClockEvent event) {
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attendance WHERE employee_id = ? AND attendance_date = ?",
+                Integer.class, event.employeeId, Date.valueOf(event.date));
+        if (rows != null && rows > 0) {
+            return new BadRequestException("Employee already clocked out today");
+        }
+        if (!workedOvernight(event)) {
+            return new ResourceNotFoundException("No clock-in record found for today");
+        }
+        Integer previous = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attendance WHERE employee_id = ? AND attendance_date = ?",
+                Integer.class, event.employeeId, Date.valueOf(event.date.minusDays(1)));
+        return previous != null && previous > 0
+                ? new BadRequestException("Employee already clocked out of last night's shift")
+                : new ResourceNotFoundException("No clock-in record found for today or last night's shift");
+    }
+
+    // employeeId -> { full name, employee code } for live employees in the batch
+    private Map<Long, String[]> loadEmployees(List<ClockEvent> events) {
+        List<Long> ids = events.stream().map(event -> event.employeeId).distinct().toList();
+        String sql = "SELECT id, first_name, last_name, employee_code FROM employees WHERE deleted_at IS NULL AND id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        Map<Long, String[]> employees = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            employees.put(rs.getLong("id"), new String[] {
+                    rs.getString("first_name") + " " + rs.getString("last_name"), rs.getString("employee_code") });
+        }, ids.toArray());
+        return employees;
+    }
+
+    private static List<EventKey> eventKeys(List<AttendanceResponseDTO> rows) {
+        return rows.stream().map(row -> new EventKey(row.getEmployeeId(), row.getAttendanceDate())).toList();
+    }
+
+    private static Map<String, AttendanceResponseDTO> index(List<AttendanceResponseDTO> rows) {
+        Map<String, AttendanceResponseDTO> byKey = new HashMap<>();
+        for (AttendanceResponseDTO row : rows) {
+            byKey.put(row.getEmployeeId() + "|" + row.getAttendanceDate(), row);
+        }
+        return byKey;
+    }
+
+    private static RowMapper<AttendanceResponseDTO> rowMapper(Map<Long, String[]> employees) {
+        return (rs, rowNum) -> {
+            long employeeId = rs.getLong("employee_id");
+            String[] employee = employees.get(employeeId);
+            return AttendanceResponseDTO.builder()
+                    .id(rs.getLong("id"))
+                    .employeeId(employeeId)
+                    .employeeName(employee[0])
+                    .employeeCode(employee[1])
+                    .attendanceDate(rs.getObject("attendance_date", LocalDate.class))
+                    .clockInTime(rs.getObject("clock_in_time", LocalTime.class))
+                    .clockOutTime(rs.getObject("clock_out_time", LocalTime.class))
+                    .status(rs.getString("status"))
+                    .remarks(rs.getString("remarks"))
+                    .workingHours(rs.getObject("working_hours", Double.class))
+                    .isLate(rs.getBoolean("is_late"))
+                    .lateMinutes(rs.getObject("late_minutes", Integer.class))
+                    .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                    .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                    .build();
+        };
+    }
+
+    private static final class ClockEvent {
+        final boolean clockIn;
+        final Long employeeId;
+        final LocalDate date;
+        final LocalTime time;
+        final CompletableFuture<AttendanceResponseDTO> result = new CompletableFuture<>();
+
+        ClockEvent(boolean clockIn, Long employeeId, LocalDate date, LocalTime time) {
+            this.clockIn = clockIn;
+            this.employeeId = employeeId;
+            this.date = date;
+            this.time = time;
+        }
+
+        String rowKey() {
+            return employeeId + "|" + date;
+        }
+
+        String previousRowKey() {
+            return employeeId + "|" + date.minusDays(1);
+        }
+
+        String key() {
+            return (clockIn ? "IN|" : "OUT|") + rowKey();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.exception.BadRequestException;
+import com.example.hr.management.exception.ServiceBusyException;
+import com.example.hr.management.service.IdempotencyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key store held in memory. Keys are scoped to the authenticated user and the
+ * operation, so two users cannot collide on a key. The stored request fingerprint rejects reuse of
+ * a key for a different request. Entries are kept in insertion order and dropped once older than
+ * the TTL or beyond the size bound, so eviction costs O(1) per request.
+ */
+@Service
+public class InMemoryIdempotencyService implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long waitMillis;
+
+    // Guarded by "this"; insertion-ordered, so the eldest entry is also the oldest
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyService(@Value("${hr.idempotency.max-entries:100000}") int maxEntries,
+            @Value("${hr.idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${hr.idempotency.wait-ms:10000}") long waitMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, ttlSeconds));
+        this.waitMillis = Math.max(0, waitMillis);
+    }
+
+    @Override
+    public <T> ResponseEntity<T> execute(String key, String operation, Object request,
+            Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = principal() + "|" + operation + "|" + key;
+        String fingerprint = String.valueOf(request);
+        Entry entry;
+        boolean owner = false;
+        synchronized (this) {
+            evictExpired(System.nanoTime());
+            entry = entries.get(scopedKey);
+            if (entry == null) {
+                entry = new Entry(fingerprint, System.nanoTime());
+                entries.put(scopedKey, entry);
+                owner = true;
+            }
+        }
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw new BadRequestException(HEADER + " was already used for a different request");
+        }
+        if (owner) {
+            return run(scopedKey, entry, action);
+        }
+        return replay(entry);
+    }
+
+    private <T> ResponseEntity<T> run(String scopedKey, Entry entry, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            forget(scopedKey, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+        // Only successes are replayed later; concurrent duplicates still share this outcome
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            forget(scopedKey, entry);
+        }
+        entry.result.complete(response);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry entry) {
+        ResponseEntity<?> original;
+        try {
+            original = entry.result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException("A request with this " + HEADER + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return (ResponseEntity<T>) new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    private synchronized void forget(String scopedKey, Entry entry) {
+        entries.remove(scopedKey, entry);
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry eldest = it.next();
+            if (entries.size() <= maxEntries && now - eldest.createdAt < ttlNanos) {
+                break;
+            }
+            it.remove();
+        }
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final long createdAt;
+        private final CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+
+        Entry(String fingerprint, long createdAt) {
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.dto.AttendanceEventDTO;
+import com.example.hr.management.dto.AttendanceReplayResultDTO;
+import com.example.hr.management.exception.BadRequestException;
+import com.example.hr.management.service.AttendanceEventLog;
+import com.example.hr.management.service.AttendanceHeatmapIndex;
+import com.example.hr.management.service.AttendanceLiveHub;
+import com.example.hr.management.service.AttendancePartitionService;
+import com.example.hr.management.service.AttendanceRollupService;
+import com.example.hr.management.service.AttendanceRollupService.RollupKey;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * attendance_events is written in the same transaction as every attendance write, one
+ * INSERT ... SELECT per write (or per batch on the clock-in/out path), copying the row state the
+ * write produced. Because each event is a full snapshot, replay needs no business rules: the last
+ * event per (employee, day) is the row, or its absence if that event is a DELETE.
+ */
+@Slf4j
+@Service
+@DependsOn("entityManagerFactory")
+public class JdbcAttendanceEventLog implements AttendanceEventLog {
+
+    private static final int KEYS_PER_STATEMENT = 1000;
+    private static final int MAX_REPLAY_MONTHS = 120;
+
+    private static final String SNAPSHOT_COLUMNS = "attendance_id, employee_id, attendance_date, clock_in_time, " +
+            "clock_out_time, status, remarks, working_hours, is_late, late_minutes, created_at, updated_at";
+
+    private static final String ROW_COLUMNS = "a.id, a.employee_id, a.attendance_date, a.clock_in_time, " +
+            "a.clock_out_time, a.status, a.remarks, a.working_hours, a.is_late, a.late_minutes, a.created_at, a.updated_at";
+
+    private static final String APPEND_SQL = "INSERT INTO attendance_events (event_type, " + SNAPSHOT_COLUMNS +
+            ", recorded_at) SELECT CAST(? AS VARCHAR), " + ROW_COLUMNS + ", LOCALTIMESTAMP FROM attendance a JOIN (VALUES ";
+
+    private static final String APPEND_KEY = "(CAST(? AS BIGINT), CAST(? AS DATE))";
+
+    private static final String APPEND_JOIN = ") AS v(employee_id, attendance_date) " +
+            "ON a.employee_id = v.employee_id AND a.attendance_date = v.attendance_date";
+
+    // Only rows the log can restore; anything without history is left alone
+    private static final String REMOVE_MONTH_SQL = "DELETE FROM attendance a " +
+            "WHERE a.attendance_date >= ? AND a.attendance_date < ? AND EXISTS (SELECT 1 FROM attendance_events ev " +
+            "WHERE ev.employee_id = a.employee_id AND ev.attendance_date = a.attendance_date) RETURNING a.employee_id";
+
+    private static final String SEED_BASELINE_SQL = "INSERT INTO attendance_events (event_type, " + SNAPSHOT_COLUMNS +
+            ", recorded_at) SELECT ?, " + ROW_COLUMNS + ", LOCALTIMESTAMP FROM attendance a " +
+            "WHERE NOT EXISTS (SELECT 1 FROM attendance_events ev " +
+            "WHERE ev.employee_id = a.employee_id AND ev.attendance_date = a.attendance_date)";
+
+    // Purged employees have no events left; the join only guards against a purge racing the replay
+    private static final String RESTORE_MONTH_SQL = "INSERT INTO attendance (id, employee_id, attendance_date, " +
+            "clock_in_time, clock_out_time, status, remarks, working_hours, is_late, late_minutes, created_at, updated_at) " +
+            "SELECT e.attendance_id, e.employee_id, e.attendance_date, e.clock_in_time, e.clock_out_time, e.status, " +
+            "e.remarks, e.working_hours, e.is_late, e.late_minutes, e.created_at, e.updated_at " +
+            "FROM (SELECT DISTINCT ON (employee_id, attendance_date) * FROM attendance_events " +
+            "WHERE attendance_date >= ? AND attendance_date < ? " +
+            "ORDER BY employee_id, attendance_date, id DESC) e " +
+            "JOIN employees emp ON emp.id = e.employee_id " +
+            "WHERE e.event_type <> '" + DELETE + "' RETURNING employee_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AttendanceRollupService attendanceRollupService;
+    private final AttendanceHeatmapIndex attendanceHeatmapIndex;
+    private final AttendancePartitionService attendancePartitionService;
+    private final AttendanceLiveHub attendanceLiveHub;
+    private final int replayParallelism;
+
+    public JdbcAttendanceEventLog(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            AttendanceRollupService attendanceRollupService,
+            AttendanceHeatmapIndex attendanceHeatmapIndex,
+            AttendancePartitionService attendancePartitionService,
+            AttendanceLiveHub attendanceLiveHub,
+            @Value("${hr.attendance-events.replay-parallelism:4}") int replayParallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.attendanceRollupService = attendanceRollupService;
+        this.attendanceHeatmapIndex = attendanceHeatmapIndex;
+        this.attendancePartitionService = attendancePartitionService;
+        this.attendanceLiveHub = attendanceLiveHub;
+        this.replayParallelism = Math.max(1, replayParallelism);
+    }
+
+    // Rows without any history (written before the log existed) become BASELINE events. Runs before
+    // the web server accepts requests, and per key, so an early write cannot make it skip the rest
+    @PostConstruct
+    public void seedBaseline() {
+        int seeded = jdbcTemplate.update(SEED_BASELINE_SQL, BASELINE);
+        if (seeded > 0) {
+            log.info("Seeded attendance event log with {} baseline events", seeded);
+        }
+    }
+
+    @Override
+    public void append(String eventType, Collection<EventKey> keys) {
+        List<EventKey> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        for (int from = 0; from < distinct.size(); from += KEYS_PER_STATEMENT) {
+            List<EventKey> chunk = distinct.subList(from, Math.min(distinct.size(), from + KEYS_PER_STATEMENT));
+            List<Object> params = new ArrayList<>(chunk.size() * 2 + 1);
+            params.add(eventType);
+            for (EventKey key : chunk) {
+                params.add(key.employeeId());
+                params.add(Date.valueOf(key.date()));
+            }
+            jdbcTemplate.update(APPEND_SQL + String.join(", ", Collections.nCopies(chunk.size(), APPEND_KEY))
+                    + APPEND_JOIN, params.toArray());
+        }
+    }
+
+    @Override
+    public List<AttendanceEventDTO> getHistory(Long employeeId, LocalDate date) {
+        return jdbcTemplate.query("SELECT id, event_type, " + SNAPSHOT_COLUMNS + ", recorded_at " +
+                        "FROM attendance_events WHERE employee_id = ? AND attendance_date = ? ORDER BY id",
+                (rs, rowNum) -> AttendanceEventDTO.builder()
+                        .id(rs.getLong("id"))
+                        .eventType(rs.getString("event_type"))
+                        .attendanceId(rs.getLong("attendance_id"))
+                        .employeeId(rs.getLong("employee_id"))
+                        .attendanceDate(rs.getObject("attendance_date", LocalDate.class))
+                        .clockInTime(rs.getObject("clock_in_time", LocalTime.class))
+                        .clockOutTime(rs.getObject("clock_out_time", LocalTime.class))
+                        .status(rs.getString("status"))
+                        .remarks(rs.getString("remarks"))
+                        .workingHours(rs.getObject("working_hours", Double.class))
+                        .isLate(rs.getBoolean("is_late"))
+                        .lateMinutes(rs.getObject("late_minutes", Integer.class))
+                        .recordedAt(rs.getObject("recorded_at", LocalDateTime.class))
+                        .build(),
+                employeeId, Date.valueOf(date));
+    }
+
+    @Override
+    public AttendanceReplayResultDTO replay(YearMonth from, YearMonth to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new BadRequestException("Replay range must run from an earlier month to a later one");
+        }
+        if (from.plusMonths(MAX_REPLAY_MONTHS).isBefore(to)) {
+            throw new BadRequestException("Replay at most " + MAX_REPLAY_MONTHS + " months at a time");
+        }
+
+        Map<YearMonth, Future<long[]>> pending = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(replayParallelism);
+        try {
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                YearMonth target = month;
+                pending.put(target, executor.submit(() -> replayMonth(target)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<String> rebuilt = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        long removed = 0;
+        long restored = 0;
+        for (Map.Entry<YearMonth, Future<long[]>> entry : pending.entrySet()) {
+            try {
+                long[] counts = entry.getValue().get();
+                removed += counts[0];
+                restored += counts[1];
+                rebuilt.add(entry.getKey().toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.add(entry.getKey() + ": interrupted");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() instanceof DataAccessException dataAccess
+                        ? dataAccess.getMostSpecificCause()
+                        : e.getCause();
+                log.warn("Attendance replay for {} failed: {}", entry.getKey(), cause.getMessage());
+                failed.add(entry.getKey() + ": " + cause.getMessage());
+            }
+        }
+        attendanceHeatmapIndex.invalidateAll();
+        // Live boards only ever show a single day, normally today
+        YearMonth current = YearMonth.now();
+        if (!current.isBefore(from) && !current.isAfter(to)) {
+            attendanceLiveHub.publishReset(LocalDate.now());
+        }
+
+        return AttendanceReplayResultDTO.builder()
+                .rebuiltMonths(rebuilt)
+                .failedMonths(failed)
+                .rowsRemoved(removed)
+                .rowsRestored(restored)
+                .build();
+    }
+
+    // Returns { rows removed, rows restored }
+    private long[] replayMonth(YearMonth month) {
+        if (attendancePartitionService.isArchived(month)) {
+            throw new BadRequestException("Month is archived");
+        }
+        Date start = Date.valueOf(month.atDay(1));
+        Date end = Date.valueOf(month.plusMonths(1).atDay(1));
+        Set<Long> touched = new LinkedHashSet<>();
+        long[] counts = transactionTemplate.execute(status -> {
+            String relation = attendancePartitionService.relationFor(month);
+            // Writers lock attendance before they append, so the month's table is the only lock taken here.
+            // It holds off writes to the month (and replays of it) until this commits, while reads go on
+            jdbcTemplate.execute("LOCK TABLE " + relation + " IN SHARE ROW EXCLUSIVE MODE");
+            List<Long> removed = jdbcTemplate.queryForList(REMOVE_MONTH_SQL, Long.class, start, end);
+            List<Long> restored = jdbcTemplate.queryForList(RESTORE_MONTH_SQL, Long.class, start, end);
+            touched.addAll(removed);
+            touched.addAll(restored);
+            return new long[] { removed.size(), restored.size() };
+        });
+        if (!touched.isEmpty()) {
+            attendanceRollupService.refresh(touched.stream()
+                    .map(employeeId -> RollupKey.of(employeeId, month.atDay(1)))
+                    .toList());
+        }
+        return counts;
+    }
+}
@@ -15,6 +15,7 @@ import com.example.hr.management.repository.LeaveTypeRepository;
 import com.example.hr.management.repository.LeaveBalanceRepository;
 import com.example.hr.management.repository.EmployeeRepository;
 import com.example.hr.management.service.LeaveService;
+import com.example.hr.management.service.ProfileImageStorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,7 +38,7 @@ public class LeaveServiceImpl implements LeaveService {
     @Override
     public LeaveResponseDTO applyLeave(LeaveRequestDTO leaveRequestDTO) {
         // Get employee
-        Employee employee = employeeRepository.findById(leaveRequestDTO.getEmployeeId())
+        Employee employee = employeeRepository.findLiveById(leaveRequestDTO.getEmployeeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
         // Get leave type
@@ -170,7 +171,7 @@ public class LeaveServiceImpl implements LeaveService {
     @Override
     @Transactional(readOnly = true)
     public List<LeaveResponseDTO> getEmployeeLeaves(Long employeeId) {
-        employeeRepository.findById(employeeId)
+        employeeRepository.findLiveById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
         return leaveRepository.findByEmployeeId(employeeId)
@@ -182,7 +183,7 @@ public class LeaveServiceImpl implements LeaveService {
     @Override
     @Transactional(readOnly = true)
     public List<LeaveResponseDTO> getEmployeeLeavesbyYear(Long employeeId, Integer year) {
-        employeeRepository.findById(employeeId)
+        employeeRepository.findLiveById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
         return leaveRepository.findLeavesByEmployeeAndYear(employeeId, year)
@@ -216,7 +217,7 @@ public class LeaveServiceImpl implements LeaveService {
                 .findByEmployeeIdAndLeaveTypeIdAndYear(employeeId, leaveTypeId, year)
                 .orElseGet(() -> {
                     // If not found, auto-create it
-                    Employee employee = employeeRepository.findById(employeeId)
+                    Employee employee = employeeRepository.findLiveById(employeeId)
                             .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
                     LeaveType leaveType = leaveTypeRepository.findById(leaveTypeId)
@@ -239,7 +240,7 @@ public class LeaveServiceImpl implements LeaveService {
 
     @Override
     public List<LeaveBalanceDTO> getEmployeeLeaveBalances(Long employeeId, Integer year) {
-        employeeRepository.findById(employeeId)
+        employeeRepository.findLiveById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
         return leaveBalanceRepository.findByEmployeeIdAndYear(employeeId, year)
@@ -250,7 +251,7 @@ public class LeaveServiceImpl implements LeaveService {
 
     @Override
     public void initializeLeaveBalance(Long employeeId, Integer year) {
-        Employee employee = employeeRepository.findById(employeeId)
+        Employee employee = employeeRepository.findLiveById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
         List<LeaveType> leaveTypes = leaveTypeRepository.findByIsActive(true);
@@ -312,7 +313,7 @@ public class LeaveServiceImpl implements LeaveService {
             dto.setEmployeeName(leave.getEmployee().getFirstName() + " " + leave.getEmployee().getLastName());
             dto.setEmployeeEmail(leave.getEmployee().getEmail());
             dto.setEmployeeCode(leave.getEmployee().getEmployeeCode());
-            dto.setEmployeeProfileImage(leave.getEmployee().getProfileImage());
+            dto.setEmployeeProfileImage(ProfileImageStorageService.urlFor(leave.getEmployee().getProfileImageHash()));
         } else {
             dto.setEmployeeName("Unknown Employee");
         }
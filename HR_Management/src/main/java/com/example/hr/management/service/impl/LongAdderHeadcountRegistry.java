@@ -0,0 +1,219 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.service.HeadcountRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Live headcounts per department and per employment status, seeded from one GROUP BY query
+ * and then moved by +1/-1 after each committed employee write. LongAdder keeps concurrent
+ * increments contention-free; reads sum its cells without touching the database.
+ *
+ * Counters remember the database snapshot their GROUP BY ran under, and every adjust carries the
+ * id of the transaction that made the write. An adjust whose transaction the snapshot already
+ * saw is dropped, so a write is counted exactly once however its commit and its after-commit
+ * callback interleave with a rebuild. Adjusts arriving while the query runs are kept aside and
+ * replayed onto the fresh counters through the same check before they are published.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LongAdderHeadcountRegistry implements HeadcountRegistry {
+
+    // ConcurrentHashMap does not allow null keys
+    private static final String NONE = "";
+
+    // One statement, so the counts and the snapshot describe the same set of committed writes
+    private static final String SNAPSHOT_COUNTS_SQL = "SELECT s.snapshot, g.department, g.employment_status, " +
+            "g.headcount FROM (SELECT CAST(pg_current_snapshot() AS TEXT) AS snapshot) s LEFT JOIN (" +
+            "SELECT department, employment_status, COUNT(*) AS headcount FROM employees " +
+            "WHERE deleted_at IS NULL GROUP BY department, employment_status) g ON TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Adjusts share the read lock; a rebuild takes the write lock only to swap state
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile State state = new State(new Counters(Snapshot.NONE), null);
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Safety net against drift from writes that bypass EmployeeService (SQL scripts, the purge job)
+    @Scheduled(fixedDelayString = "${hr.headcount.reconcile-interval-ms:900000}",
+            initialDelayString = "${hr.headcount.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Serialized so two rebuilds never collect pending adjusts at once
+    @Override
+    public synchronized void rebuild() {
+        Queue<Adjust> pending = new ConcurrentLinkedQueue<>();
+        swap(new State(state.live, pending));
+
+        Counters fresh;
+        int groups;
+        try {
+            Counters[] seeded = new Counters[1];
+            int[] rows = new int[1];
+            jdbcTemplate.query(SNAPSHOT_COUNTS_SQL, rs -> {
+                if (seeded[0] == null) {
+                    seeded[0] = new Counters(Snapshot.parse(rs.getString("snapshot")));
+                }
+                long headcount = rs.getLong("headcount");
+                if (!rs.wasNull()) {
+                    seeded[0].add(rs.getString("department"), rs.getString("employment_status"), headcount);
+                    rows[0]++;
+                }
+            });
+            fresh = seeded[0];
+            groups = rows[0];
+        } catch (RuntimeException e) {
+            swap(new State(state.live, null));
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Adjust adjust : pending) {
+                fresh.apply(adjust);
+            }
+            state = new State(fresh, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.debug("Headcount registry seeded from {} department/status groups", groups);
+    }
+
+    @Override
+    public long transactionId() {
+        String id = jdbcTemplate.queryForObject("SELECT CAST(pg_current_xact_id() AS TEXT)", String.class);
+        return Long.parseLong(id);
+    }
+
+    @Override
+    public void created(long transactionId, String department, String employmentStatus) {
+        adjust(new Adjust(transactionId, department, employmentStatus, 1));
+    }
+
+    @Override
+    public void moved(long transactionId, String oldDepartment, String oldStatus, String newDepartment,
+            String newStatus) {
+        adjust(new Adjust(transactionId, oldDepartment, oldStatus, -1),
+                new Adjust(transactionId, newDepartment, newStatus, 1));
+    }
+
+    @Override
+    public void removed(long transactionId, String department, String employmentStatus) {
+        adjust(new Adjust(transactionId, department, employmentStatus, -1));
+    }
+
+    @Override
+    public long countByStatus(String employmentStatus) {
+        LongAdder adder = state.live.byStatus.get(key(employmentStatus));
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    @Override
+    public long countByDepartment(String department) {
+        LongAdder adder = state.live.byDepartment.get(key(department));
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    private void adjust(Adjust... adjusts) {
+        lock.readLock().lock();
+        try {
+            State current = state;
+            for (Adjust adjust : adjusts) {
+                current.live.apply(adjust);
+                if (current.pending != null) {
+                    current.pending.add(adjust);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void swap(State next) {
+        lock.writeLock().lock();
+        try {
+            state = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String key(String value) {
+        return value != null ? value : NONE;
+    }
+
+    // pending is non-null only while a rebuild's query runs
+    private record State(Counters live, Queue<Adjust> pending) {
+    }
+
+    private record Adjust(long transactionId, String department, String status, long delta) {
+    }
+
+    // pg_current_snapshot() text form, xmin:xmax:xip_list
+    private record Snapshot(long xmin, long xmax, long[] inProgress) {
+
+        static final Snapshot NONE = new Snapshot(0, 0, new long[0]);
+
+        static Snapshot parse(String text) {
+            String[] parts = text.split(":", -1);
+            long[] inProgress = parts[2].isEmpty() ? new long[0]
+                    : Arrays.stream(parts[2].split(",")).mapToLong(Long::parseLong).sorted().toArray();
+            return new Snapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+        }
+
+        // Adjusts only arrive for committed transactions, so visible means committed before the snapshot
+        boolean sees(long transactionId) {
+            return transactionId < xmin
+                    || (transactionId < xmax && Arrays.binarySearch(inProgress, transactionId) < 0);
+        }
+    }
+
+    private static final class Counters {
+        final Snapshot snapshot;
+        final ConcurrentHashMap<String, LongAdder> byDepartment = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+
+        Counters(Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        void apply(Adjust adjust) {
+            if (!snapshot.sees(adjust.transactionId())) {
+                add(adjust.department(), adjust.status(), adjust.delta());
+            }
+        }
+
+        void add(String department, String status, long delta) {
+            byDepartment.computeIfAbsent(key(department), k -> new LongAdder()).add(delta);
+            byStatus.computeIfAbsent(key(status), k -> new LongAdder()).add(delta);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.dto.EmployeeResponseDTO;
+import com.example.hr.management.service.EmployeeCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU of EmployeeResponseDTO keyed by employee id, with userId and employeeCode
+ * kept as secondary keys pointing at the id, and a managerId -> cached report ids index so
+ * invalidating a manager touches only its reports. Entries expire after a fixed TTL. A load that
+ * overlaps an invalidation is returned to the caller but not cached, so a read racing a
+ * committed write cannot re-populate the old version.
+ */
+@Service
+public class LruEmployeeCache implements EmployeeCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // Guarded by "this"; access-ordered so the eldest entry is the least recently used
+    private final LinkedHashMap<Long, Entry> entries;
+    private final Map<Long, Long> idByUserId = new ConcurrentHashMap<>();
+    private final Map<String, Long> idByCode = new ConcurrentHashMap<>();
+    // Guarded by "this"; only cached reports are listed
+    private final Map<Long, Set<Long>> reportIdsByManagerId = new HashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public LruEmployeeCache(@Value("${hr.employee-cache.max-size:10000}") int maxSize,
+            @Value("${hr.employee-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, ttlSeconds));
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public EmployeeResponseDTO getById(Long id, Supplier<EmployeeResponseDTO> loader) {
+        EmployeeResponseDTO cached = lookup(id);
+        return cached != null ? cached : load(loader);
+    }
+
+    @Override
+    public EmployeeResponseDTO getByUserId(Long userId, Supplier<EmployeeResponseDTO> loader) {
+        Long id = idByUserId.get(userId);
+        EmployeeResponseDTO cached = id != null ? lookup(id) : null;
+        if (cached != null && userId.equals(cached.getUserId())) {
+            return cached;
+        }
+        if (cached == null && id == null) {
+            misses.increment();
+        }
+        return load(loader);
+    }
+
+    @Override
+    public EmployeeResponseDTO getByCode(String employeeCode, Supplier<EmployeeResponseDTO> loader) {
+        Long id = idByCode.get(employeeCode);
+        EmployeeResponseDTO cached = id != null ? lookup(id) : null;
+        if (cached != null && employeeCode.equals(cached.getEmployeeCode())) {
+            return cached;
+        }
+        if (cached == null && id == null) {
+            misses.increment();
+        }
+        return load(loader);
+    }
+
+    @Override
+    public void invalidate(Long employeeId) {
+        invalidations.incrementAndGet();
+        synchronized (this) {
+            remove(employeeId);
+            Set<Long> reportIds = reportIdsByManagerId.remove(employeeId);
+            if (reportIds != null) {
+                reportIds.forEach(this::remove);
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        synchronized (this) {
+            entries.clear();
+            idByUserId.clear();
+            idByCode.clear();
+            reportIdsByManagerId.clear();
+        }
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", size);
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", requests > 0 ? (double) hitCount / requests : 0.0);
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    // Counts a hit or miss for the primary key and drops the entry if it has expired
+    private EmployeeResponseDTO lookup(Long id) {
+        synchronized (this) {
+            Entry entry = entries.get(id);
+            if (entry != null && System.nanoTime() - entry.loadedAt() < ttlNanos) {
+                hits.increment();
+                return entry.dto();
+            }
+            if (entry != null) {
+                entries.remove(id);
+                unlinkSecondaryKeys(entry.dto());
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    private EmployeeResponseDTO load(Supplier<EmployeeResponseDTO> loader) {
+        long version = invalidations.get();
+        EmployeeResponseDTO dto = loader.get();
+        if (dto == null || dto.getId() == null) {
+            return dto;
+        }
+        synchronized (this) {
+            if (version != invalidations.get()) {
+                return dto;
+            }
+            Entry previous = entries.put(dto.getId(), new Entry(dto, System.nanoTime()));
+            if (previous != null) {
+                unlinkSecondaryKeys(previous.dto());
+            }
+            if (dto.getUserId() != null) {
+                idByUserId.put(dto.getUserId(), dto.getId());
+            }
+            if (dto.getEmployeeCode() != null) {
+                idByCode.put(dto.getEmployeeCode(), dto.getId());
+            }
+            if (dto.getManagerId() != null) {
+                reportIdsByManagerId.computeIfAbsent(dto.getManagerId(), k -> new HashSet<>()).add(dto.getId());
+            }
+            while (entries.size() > maxSize) {
+                Iterator<Entry> eldest = entries.values().iterator();
+                Entry evicted = eldest.next();
+                eldest.remove();
+                unlinkSecondaryKeys(evicted.dto());
+                evictions.increment();
+            }
+        }
+        return dto;
+    }
+
+    private void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            unlinkSecondaryKeys(entry.dto());
+        }
+    }
+
+    // Callers hold "this"
+    private void unlinkSecondaryKeys(EmployeeResponseDTO dto) {
+        if (dto.getUserId() != null) {
+            idByUserId.remove(dto.getUserId(), dto.getId());
+        }
+        if (dto.getEmployeeCode() != null) {
+            idByCode.remove(dto.getEmployeeCode(), dto.getId());
+        }
+        if (dto.getManagerId() != null) {
+            Set<Long> reportIds = reportIdsByManagerId.get(dto.getManagerId());
+            if (reportIds != null) {
+                reportIds.remove(dto.getId());
+                if (reportIds.isEmpty()) {
+                    reportIdsByManagerId.remove(dto.getManagerId());
+                }
+            }
+        }
+    }
+
+    private record Entry(EmployeeResponseDTO dto, long loadedAt) {
+    }
+}
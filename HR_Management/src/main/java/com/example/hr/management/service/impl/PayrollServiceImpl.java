@@ -28,7 +28,7 @@ public class PayrollServiceImpl implements PayrollService {
         @Transactional
         public PayrollResponseDTO generatePayroll(Long employeeId, LocalDate start, LocalDate end, BigDecimal bonus,
                         BigDecimal deductions) {
-                Employee employee = employeeRepository.findById(employeeId)
+                Employee employee = employeeRepository.findLiveById(employeeId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
                 com.example.hr.management.entity.SalaryStructure struct = salaryStructureRepository
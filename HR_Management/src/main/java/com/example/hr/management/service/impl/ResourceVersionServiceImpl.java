@@ -0,0 +1,80 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.repository.AttendanceRepository;
+import com.example.hr.management.repository.EmployeeRepository;
+import com.example.hr.management.repository.PayrollRepository;
+import com.example.hr.management.service.ResourceVersionService;
+import com.example.hr.management.util.ETagUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final PayrollRepository payrollRepository;
+
+    @Override
+    public String employeeETag(Long id) {
+        return ETagUtil.forEntity("employee", asOfToday(id), employeeRepository.findVersionById(id));
+    }
+
+    @Override
+    public String employeeByUserIdETag(Long userId) {
+        return ETagUtil.forEntity("employee-user", asOfToday(userId),
+                employeeRepository.findVersionByUserId(userId));
+    }
+
+    @Override
+    public String employeeByCodeETag(String employeeCode) {
+        return ETagUtil.forEntity("employee-code", asOfToday(employeeCode),
+                employeeRepository.findVersionByEmployeeCode(employeeCode));
+    }
+
+    @Override
+    public String employeesETag() {
+        return ETagUtil.forCollection("employees", asOfToday("all"), employeeRepository.findVersionOfAll());
+    }
+
+    @Override
+    public String attendanceETag(Long id) {
+        return ETagUtil.forEntity("attendance", id, attendanceRepository.findVersionById(id));
+    }
+
+    @Override
+    public String employeeAttendanceETag(Long employeeId) {
+        return ETagUtil.forCollection("attendance-employee", employeeId,
+                attendanceRepository.findVersionByEmployeeId(employeeId));
+    }
+
+    @Override
+    public String employeeAttendanceETag(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return ETagUtil.forCollection("attendance-range", employeeId + ":" + startDate + ":" + endDate,
+                attendanceRepository.findVersionByEmployeeIdAndDateRange(employeeId, startDate, endDate));
+    }
+
+    @Override
+    public String attendanceByDateETag(LocalDate date) {
+        return ETagUtil.forCollection("attendance-date", date, attendanceRepository.findVersionByDate(date));
+    }
+
+    @Override
+    public String payrollETag(Long id) {
+        return ETagUtil.forEntity("payroll", id, payrollRepository.findVersionById(id));
+    }
+
+    @Override
+    public String employeePayrollsETag(Long employeeId) {
+        return ETagUtil.forCollection("payroll-employee", employeeId,
+                payrollRepository.findVersionByEmployeeId(employeeId));
+    }
+
+    // Employee DTOs carry an age derived from today's date, which no updatedAt reflects
+    private static String asOfToday(Object key) {
+        return key + "@" + LocalDate.now();
+    }
+}
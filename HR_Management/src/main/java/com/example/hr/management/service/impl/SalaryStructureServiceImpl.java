@@ -20,7 +20,7 @@ public class SalaryStructureServiceImpl implements SalaryStructureService {
     @Override
     @Transactional
     public SalaryStructure createOrUpdateSalaryStructure(Long employeeId, SalaryStructure salaryStructure) {
-        Employee employee = employeeRepository.findById(employeeId)
+        Employee employee = employeeRepository.findLiveById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
 
         SalaryStructure existingStructure = salaryStructureRepository.findByEmployeeId(employeeId)
@@ -0,0 +1,201 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.dto.ShiftAssignmentDTO;
+import com.example.hr.management.dto.ShiftDTO;
+import com.example.hr.management.entity.Employee;
+import com.example.hr.management.entity.Shift;
+import com.example.hr.management.entity.ShiftAssignment;
+import com.example.hr.management.exception.BadRequestException;
+import com.example.hr.management.exception.ResourceNotFoundException;
+import com.example.hr.management.repository.EmployeeRepository;
+import com.example.hr.management.repository.ShiftAssignmentRepository;
+import com.example.hr.management.repository.ShiftRepository;
+import com.example.hr.management.repository.projection.ShiftAssignmentView;
+import com.example.hr.management.service.ShiftScheduleIndex;
+import com.example.hr.management.service.ShiftService;
+import com.example.hr.management.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ShiftServiceImpl implements ShiftService {
+
+    private final ShiftRepository shiftRepository;
+    private final ShiftAssignmentRepository shiftAssignmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ShiftScheduleIndex shiftScheduleIndex;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ShiftDTO> getAllShifts() {
+        return shiftRepository.findAll().stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public ShiftDTO createShift(ShiftDTO shiftDTO) {
+        if (shiftRepository.existsByNameIgnoreCase(shiftDTO.getName())) {
+            throw new BadRequestException("Shift already exists: " + shiftDTO.getName());
+        }
+        Shift shift = new Shift();
+        applyShift(shift, shiftDTO);
+        Shift saved = shiftRepository.save(shift);
+        rebuildScheduleAfterCommit();
+        return mapToDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public ShiftDTO updateShift(Long id, ShiftDTO shiftDTO) {
+        Shift shift = shiftRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shift not found with id: " + id));
+        if (shiftRepository.existsByNameIgnoreCaseAndIdNot(shiftDTO.getName(), id)) {
+            throw new BadRequestException("Shift already exists: " + shiftDTO.getName());
+        }
+        applyShift(shift, shiftDTO);
+        Shift saved = shiftRepository.save(shift);
+        rebuildScheduleAfterCommit();
+        return mapToDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public void deleteShift(Long id) {
+        Shift shift = shiftRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shift not found with id: " + id));
+        // Past rosters still matter: lateness is recomputed when old attendance is edited
+        String shiftId = String.valueOf(id);
+        boolean inUse = shiftAssignmentRepository.findAllViews().stream()
+                .anyMatch(view -> Arrays.stream(view.getRotation().split(","))
+                        .anyMatch(token -> token.trim().equals(shiftId)));
+        if (inUse) {
+            throw new BadRequestException("Shift is used by a roster and cannot be deleted");
+        }
+        shiftRepository.delete(shift);
+        rebuildScheduleAfterCommit();
+    }
+
+    @Override
+    @Transactional
+    public ShiftAssignmentDTO assignRoster(ShiftAssignmentDTO assignmentDTO) {
+        Employee employee = employeeRepository.findLiveById(assignmentDTO.getEmployeeId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Employee not found with id: " + assignmentDTO.getEmployeeId()));
+        if (assignmentDTO.getEffectiveTo() != null
+                && assignmentDTO.getEffectiveTo().isBefore(assignmentDTO.getEffectiveFrom())) {
+            throw new BadRequestException("Effective to date cannot be before effective from date");
+        }
+
+        Set<Long> shiftIds = new HashSet<>();
+        for (Long shiftId : assignmentDTO.getRotation()) {
+            if (shiftId == null) {
+                throw new BadRequestException("Rotation entries must be a shift id or 0 for a day off");
+            }
+            if (shiftId != 0) {
+                shiftIds.add(shiftId);
+            }
+        }
+        if (shiftRepository.findAllById(shiftIds).size() != shiftIds.size()) {
+            throw new BadRequestException("Rotation refers to a shift that does not exist");
+        }
+
+        for (ShiftAssignment existing : shiftAssignmentRepository
+                .findByEmployeeIdOrderByEffectiveFromAsc(employee.getId())) {
+            boolean endsBefore = existing.getEffectiveTo() != null
+                    && existing.getEffectiveTo().isBefore(assignmentDTO.getEffectiveFrom());
+            boolean startsAfter = assignmentDTO.getEffectiveTo() != null
+                    && existing.getEffectiveFrom().isAfter(assignmentDTO.getEffectiveTo());
+            if (endsBefore || startsAfter) {
+                continue;
+            }
+            if (existing.getEffectiveFrom().isBefore(assignmentDTO.getEffectiveFrom())) {
+                existing.setEffectiveTo(assignmentDTO.getEffectiveFrom().minusDays(1));
+                shiftAssignmentRepository.save(existing);
+            } else {
+                throw new BadRequestException("Roster overlaps an existing roster starting "
+                        + existing.getEffectiveFrom());
+            }
+        }
+
+        ShiftAssignment assignment = new ShiftAssignment();
+        assignment.setEmployee(employee);
+        assignment.setRotation(assignmentDTO.getRotation().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(",")));
+        assignment.setEffectiveFrom(assignmentDTO.getEffectiveFrom());
+        assignment.setEffectiveTo(assignmentDTO.getEffectiveTo());
+        ShiftAssignment saved = shiftAssignmentRepository.save(assignment);
+        rebuildScheduleAfterCommit();
+
+        return ShiftAssignmentDTO.builder()
+                .id(saved.getId())
+                .employeeId(employee.getId())
+                .rotation(assignmentDTO.getRotation())
+                .effectiveFrom(saved.getEffectiveFrom())
+                .effectiveTo(saved.getEffectiveTo())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ShiftAssignmentDTO> getEmployeeRosters(Long employeeId) {
+        return shiftAssignmentRepository.findViewsByEmployeeId(employeeId).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void deleteRoster(Long id) {
+        ShiftAssignment assignment = shiftAssignmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Roster not found with id: " + id));
+        shiftAssignmentRepository.delete(assignment);
+        rebuildScheduleAfterCommit();
+    }
+
+    private void applyShift(Shift shift, ShiftDTO shiftDTO) {
+        if (shiftDTO.getStartTime().equals(shiftDTO.getEndTime())) {
+            throw new BadRequestException("Shift start and end time cannot be the same");
+        }
+        shift.setName(shiftDTO.getName().trim());
+        shift.setStartTime(shiftDTO.getStartTime());
+        shift.setEndTime(shiftDTO.getEndTime());
+        shift.setGraceMinutes(shiftDTO.getGraceMinutes() != null ? shiftDTO.getGraceMinutes() : 0);
+    }
+
+    private void rebuildScheduleAfterCommit() {
+        TransactionUtil.afterCommit(shiftScheduleIndex::rebuild);
+    }
+
+    private ShiftDTO mapToDTO(Shift shift) {
+        return ShiftDTO.builder()
+                .id(shift.getId())
+                .name(shift.getName())
+                .startTime(shift.getStartTime())
+                .endTime(shift.getEndTime())
+                .graceMinutes(shift.getGraceMinutes())
+                .build();
+    }
+
+    private ShiftAssignmentDTO mapToDTO(ShiftAssignmentView view) {
+        return ShiftAssignmentDTO.builder()
+                .id(view.getId())
+                .employeeId(view.getEmployeeId())
+                .rotation(Arrays.stream(view.getRotation().split(","))
+                        .map(token -> Long.parseLong(token.trim()))
+                        .collect(Collectors.toList()))
+                .effectiveFrom(view.getEffectiveFrom())
+                .effectiveTo(view.getEffectiveTo())
+                .build();
+    }
+}
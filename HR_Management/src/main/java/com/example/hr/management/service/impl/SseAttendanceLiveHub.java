@@ -0,0 +1,369 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.dto.AttendanceResponseDTO;
+import com.example.hr.management.exception.ServiceBusyException;
+import com.example.hr.management.service.AttendanceLiveHub;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * SSE hub for live attendance boards. Each change is serialized to JSON once by the dispatcher and
+ * the same string is put on the send queue of every subscriber of its day; a small sender pool
+ * drains those queues, one task per subscriber at a time, so a slow client only delays itself.
+ *
+ * No delta is silently lost. A subscriber whose queue overflows has it replaced by a fresh
+ * snapshot, and if the shared queue overflows every board gets one. A send that has not returned
+ * within the send timeout drops the board; the client reconnects and starts from a snapshot.
+ */
+@Slf4j
+@Service
+public class SseAttendanceLiveHub implements AttendanceLiveHub {
+
+    private static final int MAX_PENDING_PER_SUBSCRIBER = 1000;
+    private static final String[] KEEP_ALIVE = { null, "keep-alive" };
+
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMillis;
+    private final long sendTimeoutMillis;
+    private final BlockingQueue<LiveEvent> queue;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private final Thread dispatcher;
+    private final ExecutorService senders;
+    private volatile boolean running = true;
+
+    public SseAttendanceLiveHub(ObjectMapper objectMapper,
+            @Value("${hr.attendance-live.max-subscribers:1000}") int maxSubscribers,
+            @Value("${hr.attendance-live.timeout-ms:1800000}") long emitterTimeoutMillis,
+            @Value("${hr.attendance-live.queue-capacity:10000}") int queueCapacity,
+            @Value("${hr.attendance-live.sender-threads:4}") int senderThreads,
+            @Value("${hr.attendance-live.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = Math.max(1, maxSubscribers);
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.sendTimeoutMillis = Math.max(1, sendTimeoutMillis);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.dispatcher = new Thread(this::runDispatcher, "attendance-live-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "attendance-live-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    @Override
+    public SseEmitter subscribe(LocalDate date, Supplier<List<AttendanceResponseDTO>> snapshot) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceBusyException("Too many live attendance boards are open, please retry");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(date, emitter, snapshot);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        // Deltas arriving while the snapshot loads stay queued and are sent after it
+        String json;
+        try {
+            json = toJson(snapshot.get());
+        } catch (RuntimeException e) {
+            close(subscriber);
+            throw e;
+        }
+        synchronized (subscriber) {
+            if (!subscriber.needsSnapshot) {
+                subscriber.pending.addFirst(new String[] { "snapshot", json });
+            }
+            subscriber.ready = true;
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public void publishUpsert(AttendanceResponseDTO attendance) {
+        enqueue(new LiveEvent("upsert", attendance.getAttendanceDate(), attendance));
+    }
+
+    @Override
+    public void publishRemoval(Long attendanceId, Long employeeId, LocalDate date) {
+        Map<String, Object> removed = new LinkedHashMap<>();
+        removed.put("id", attendanceId);
+        removed.put("employeeId", employeeId);
+        removed.put("attendanceDate", date);
+        enqueue(new LiveEvent("remove", date, removed));
+    }
+
+    @Override
+    public void publishReset(LocalDate date) {
+        enqueue(new LiveEvent("snapshot", date, null));
+    }
+
+    // Keeps idle connections open through proxies and drops boards whose client has gone or stalled
+    @Scheduled(fixedDelayString = "${hr.attendance-live.heartbeat-ms:25000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > sendTimeoutMillis) {
+                log.debug("Dropping live attendance board for {}: send stalled for {} ms", subscriber.date, now - since);
+                drop(subscriber);
+                continue;
+            }
+            synchronized (subscriber) {
+                if (!subscriber.pending.isEmpty() || subscriber.needsSnapshot) {
+                    continue;
+                }
+                subscriber.pending.add(KEEP_ALIVE);
+            }
+            schedule(subscriber);
+        }
+    }
+
+    private void enqueue(LiveEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            overflowed.set(true);
+        }
+    }
+
+    private void runDispatcher() {
+        List<LiveEvent> batch = new ArrayList<>();
+        while (running) {
+            try {
+                LiveEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                }
+                if (overflowed.getAndSet(false)) {
+                    batch.clear();
+                    queue.clear();
+                    for (Subscriber subscriber : subscribers) {
+                        batch.add(new LiveEvent("snapshot", subscriber.date, null));
+                    }
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.warn("Live attendance dispatch failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<LiveEvent> batch) {
+        // Resets for the same day collapse into one snapshot query
+        Set<LocalDate> resets = new LinkedHashSet<>();
+        for (LiveEvent event : batch) {
+            if (event.payload == null) {
+                resets.add(event.date);
+            } else {
+                broadcast(event.date, event.name, toJson(event.payload));
+            }
+        }
+        Map<LocalDate, String> snapshots = new HashMap<>();
+        for (LocalDate date : resets) {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.date.equals(date) && !snapshots.containsKey(date)) {
+                    snapshots.put(date, toJson(subscriber.snapshot.get()));
+                }
+            }
+            if (snapshots.containsKey(date)) {
+                broadcast(date, "snapshot", snapshots.get(date));
+            }
+        }
+    }
+
+    private void broadcast(LocalDate date, String name, String json) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.date.equals(date)) {
+                offer(subscriber, name, json);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, String name, String json) {
+        synchronized (subscriber) {
+            if ("snapshot".equals(name)) {
+                // Supersedes everything still queued
+                subscriber.pending.clear();
+                subscriber.needsSnapshot = false;
+            } else if (subscriber.needsSnapshot) {
+                return; // the snapshot it is waiting for will include this change
+            } else if (subscriber.pending.size() >= MAX_PENDING_PER_SUBSCRIBER) {
+                subscriber.pending.clear();
+                subscriber.needsSnapshot = true;
+                return;
+            }
+            subscriber.pending.add(new String[] { name, json });
+        }
+        schedule(subscriber);
+    }
+
+    // At most one drain per subscriber is queued or running, so its events are never interleaved
+    private void schedule(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (!subscriber.ready || subscriber.scheduled || subscriber.closed
+                    || (subscriber.pending.isEmpty() && !subscriber.needsSnapshot)) {
+                return;
+            }
+            subscriber.scheduled = true;
+        }
+        try {
+            senders.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            drop(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (!subscriber.closed) {
+            String[] next;
+            boolean reload;
+            synchronized (subscriber) {
+                reload = subscriber.needsSnapshot;
+                if (reload) {
+                    subscriber.needsSnapshot = false;
+                    subscriber.pending.clear();
+                }
+                next = reload ? null : subscriber.pending.poll();
+                if (next == null && !reload) {
+                    subscriber.scheduled = false;
+                    return;
+                }
+            }
+            try {
+                if (reload) {
+                    // Changes queued from here on are sent after this snapshot and are idempotent against it
+                    next = new String[] { "snapshot", toJson(subscriber.snapshot.get()) };
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not load a fresh snapshot for the live attendance board of {}", subscriber.date, e);
+                drop(subscriber);
+                return;
+            }
+            if (!send(subscriber, next[0], next[1])) {
+                return;
+            }
+        }
+    }
+
+    // Only the subscriber's drain calls this; a name of null sends a comment
+    private boolean send(Subscriber subscriber, String name, String data) {
+        subscriber.sendingSince = System.currentTimeMillis();
+        try {
+            if (name == null) {
+                subscriber.emitter.send(SseEmitter.event().comment(data));
+            } else {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(sequence.incrementAndGet()))
+                        .name(name)
+                        .data(data, MediaType.APPLICATION_JSON));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber);
+            return false;
+        } finally {
+            subscriber.sendingSince = 0;
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        close(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        synchronized (subscriber) {
+            subscriber.pending.clear();
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize live attendance event", e);
+        }
+    }
+
+    private record LiveEvent(String name, LocalDate date, Object payload) {
+    }
+
+    private static final class Subscriber {
+        final LocalDate date;
+        final SseEmitter emitter;
+        final Supplier<List<AttendanceResponseDTO>> snapshot;
+        // { event name, data } in send order; guarded by the subscriber's monitor
+        final ArrayDeque<String[]> pending = new ArrayDeque<>();
+        boolean ready;
+        boolean scheduled;
+        boolean needsSnapshot;
+        volatile boolean closed;
+        volatile long sendingSince;
+
+        Subscriber(LocalDate date, SseEmitter emitter, Supplier<List<AttendanceResponseDTO>> snapshot) {
+            this.date = date;
+            this.emitter = emitter;
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.hr.management.service.impl;
+
+import com.example.hr.management.repository.EmployeeRepository;
+import com.example.hr.management.repository.projection.EmployeeSearchView;
+import com.example.hr.management.service.EmployeeSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over firstName, lastName, email and employeeCode.
+ * Each trigram maps to a sorted int[] of internal document numbers; a query intersects the
+ * posting lists of its trigrams and then verifies the substring match, so results agree with
+ * the old LIKE '%keyword%' search.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrigramEmployeeSearchIndex implements EmployeeSearchIndex {
+
+    private static final int FIELD_COUNT = 4;
+    private static final int FIELD_EMPLOYEE_CODE = 3;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByEmployeeId = new HashMap<>();
+    private final PostingList freeDocs = new PostingList();
+    private long[] employeeIds = new long[256];
+    private String[][] fields = new String[256][];
+    private int docCount;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void rebuild() {
+        List<EmployeeSearchView> employees = employeeRepository.findAllForSearchIndex();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docByEmployeeId.clear();
+            freeDocs.clear();
+            docCount = 0;
+            Arrays.fill(fields, null);
+            for (EmployeeSearchView e : employees) {
+                indexLocked(e.getId(), e.getFirstName(), e.getLastName(), e.getEmail(), e.getEmployeeCode());
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Employee search index built with {} employees, {} trigrams", employees.size(), postings.size());
+    }
+
+    @Override
+    public void index(Long employeeId, String firstName, String lastName, String email, String employeeCode) {
+        lock.writeLock().lock();
+        try {
+            indexLocked(employeeId, firstName, lastName, email, employeeCode);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long employeeId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByEmployeeId.remove(employeeId);
+            if (doc != null) {
+                unpost(doc);
+                fields[doc] = null;
+                freeDocs.add(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> search(String keyword, int limit) {
+        String query = normalize(keyword);
+        if (query.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        PriorityQueue<long[]> top = new PriorityQueue<>(limit + 1,
+                (a, b) -> a[1] != b[1] ? Long.compare(a[1], b[1]) : Long.compare(b[0], a[0]));
+
+        lock.readLock().lock();
+        try {
+            if (query.length() < 3) {
+                // Too short for trigrams: scan the in-memory fields directly
+                for (int doc = 0; doc < docCount; doc++) {
+                    offer(top, doc, query, limit);
+                }
+            } else {
+                for (int doc : candidates(query)) {
+                    offer(top, doc, query, limit);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(top.poll()[0]);
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    private void indexLocked(Long employeeId, String firstName, String lastName, String email,
+            String employeeCode) {
+        Integer existing = docByEmployeeId.get(employeeId);
+        int doc;
+        if (existing != null) {
+            doc = existing;
+            unpost(doc);
+        } else {
+            doc = freeDocs.size > 0 ? freeDocs.pop() : docCount++;
+            ensureCapacity(doc + 1);
+            docByEmployeeId.put(employeeId, doc);
+        }
+        employeeIds[doc] = employeeId;
+        fields[doc] = new String[] { normalize(firstName), normalize(lastName), normalize(email),
+                normalize(employeeCode) };
+        for (String field : fields[doc]) {
+            for (int i = 0; i + 3 <= field.length(); i++) {
+                postings.computeIfAbsent(trigram(field, i), k -> new PostingList()).add(doc);
+            }
+        }
+    }
+
+    private void unpost(int doc) {
+        if (fields[doc] == null) {
+            return;
+        }
+        for (String field : fields[doc]) {
+            for (int i = 0; i + 3 <= field.length(); i++) {
+                long key = trigram(field, i);
+                PostingList list = postings.get(key);
+                if (list != null) {
+                    list.remove(doc);
+                    if (list.size == 0) {
+                        postings.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    // Intersects posting lists, smallest first
+    private int[] candidates(String query) {
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            PostingList list = postings.get(trigram(query, i));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        int[] result = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+        int resultSize = result.length;
+        for (int l = 1; l < lists.size() && resultSize > 0; l++) {
+            PostingList list = lists.get(l);
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < resultSize && j < list.size) {
+                if (result[i] < list.docs[j]) {
+                    i++;
+                } else if (result[i] > list.docs[j]) {
+                    j++;
+                } else {
+                    result[k++] = result[i];
+                    i++;
+                    j++;
+                }
+            }
+            resultSize = k;
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    private void offer(PriorityQueue<long[]> top, int doc, String query, int limit) {
+        String[] docFields = fields[doc];
+        if (docFields == null) {
+            return;
+        }
+        long score = score(docFields, query);
+        if (score == 0) {
+            return;
+        }
+        top.offer(new long[] { employeeIds[doc], score });
+        if (top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    // Exact match > prefix match > substring match; employee code matches rank highest
+    private long score(String[] docFields, String query) {
+        long score = 0;
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            String field = docFields[f];
+            long fieldScore;
+            if (field.equals(query)) {
+                fieldScore = 100;
+            } else if (field.startsWith(query)) {
+                fieldScore = 50;
+            } else if (field.contains(query)) {
+                fieldScore = 10;
+            } else {
+                continue;
+            }
+            score += f == FIELD_EMPLOYEE_CODE ? fieldScore * 2 : fieldScore;
+        }
+        return score;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > employeeIds.length) {
+            int newLength = Math.max(capacity, employeeIds.length * 2);
+            employeeIds = Arrays.copyOf(employeeIds, newLength);
+            fields = Arrays.copyOf(fields, newLength);
+        }
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Sorted, growable int[] of document numbers
+    private static class PostingList {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            int pos = Arrays.binarySearch(docs, 0, size, doc);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            System.arraycopy(docs, pos, docs, pos + 1, size - pos);
+            docs[pos] = doc;
+            size++;
+        }
+
+        void remove(int doc) {
+            int pos = Arrays.binarySearch(docs, 0, size, doc);
+            if (pos >= 0) {
+                System.arraycopy(docs, pos + 1, docs, pos, size - pos - 1);
+                size--;
+            }
+        }
+
+        int pop() {
+            return docs[--size];
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
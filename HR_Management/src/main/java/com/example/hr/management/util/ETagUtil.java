@@ -0,0 +1,53 @@
+package com.example.hr.management.util;
+
+import com.example.hr.management.repository.projection.VersionFingerprint;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+public class ETagUtil {
+
+    // Browsers may keep the body but must revalidate it with If-None-Match on every use
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETagUtil() {
+    }
+
+    // Strong ETag for a single row; null when the row does not exist so the normal 404 path runs
+    public static String forEntity(String kind, Object key, VersionFingerprint version) {
+        if (version == null || version.getRowCount() == null || version.getRowCount() == 0) {
+            return null;
+        }
+        return build(kind, key, version);
+    }
+
+    // Strong ETag for a collection; an empty collection still gets a stable tag
+    public static String forCollection(String kind, Object key, VersionFingerprint version) {
+        return version != null ? build(kind, key, version) : null;
+    }
+
+    public static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+    }
+
+    public static <T> ResponseEntity<T> ok(T body, String eTag) {
+        if (eTag == null) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(body);
+    }
+
+    private static String build(String kind, Object key, VersionFingerprint version) {
+        String raw = kind + "|" + key + "|" + version.getRowCount() + "|" + stamp(version.getLastUpdated())
+                + "|" + stamp(version.getRelatedUpdated());
+        return "\"" + DigestUtils.md5DigestAsHex(raw.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static String stamp(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toString() : "-";
+    }
+}
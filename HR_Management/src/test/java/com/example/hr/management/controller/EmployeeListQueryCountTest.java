@@ -0,0 +1,142 @@
+package com.example.hr.management.controller;
+
+import com.example.hr.management.config.QueryCountInspector;
+import com.example.hr.management.dto.EmployeeResponseDTO;
+import com.example.hr.management.entity.Employee;
+import com.example.hr.management.entity.Role;
+import com.example.hr.management.entity.User;
+import com.example.hr.management.repository.EmployeeRepository;
+import com.example.hr.management.repository.RoleRepository;
+import com.example.hr.management.repository.UserRepository;
+import com.example.hr.management.service.EmployeeSearchIndex;
+import com.example.hr.management.service.EmployeeService;
+import com.example.hr.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// List endpoints must cost a fixed number of statements however many employees (and users) there are
+@SpringBootTest(properties = {
+        "hr.query-count.fail-on-exceed=true",
+        "hr.query-count.max-per-request=" + EmployeeListQueryCountTest.BUDGET
+})
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class EmployeeListQueryCountTest extends PostgresIntegrationTest {
+
+    static final int BUDGET = 5;
+    private static final int EMPLOYEES = 30;
+    private static final int MANAGERS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @BeforeEach
+    void seedEmployeesWithUsers() {
+        if (employeeRepository.count() >= EMPLOYEES) {
+            return;
+        }
+        Role role = roleRepository.findByName("ROLE_EMPLOYEE").orElseGet(() -> {
+            Role employeeRole = new Role();
+            employeeRole.setName("ROLE_EMPLOYEE");
+            return roleRepository.save(employeeRole);
+        });
+        // The first few manage everyone else, so every list resolves several distinct manager names
+        List<Long> managerIds = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            User user = new User();
+            user.setUsername("qc-user-" + i);
+            user.setEmail("qc-user-" + i + "@example.com");
+            user.setPassword("x");
+            user.setRoles(new HashSet<>(Set.of(role)));
+            user = userRepository.save(user);
+
+            Employee employee = new Employee();
+            employee.setEmployeeCode("QC" + i);
+            employee.setFirstName("Query");
+            employee.setLastName("Count" + i);
+            employee.setEmail("qc-employee-" + i + "@example.com");
+            employee.setDepartment("IT");
+            employee.setEmploymentStatus("ACTIVE");
+            employee.setUser(user);
+            if (i >= MANAGERS) {
+                employee.setManagerId(managerIds.get(i % MANAGERS));
+            }
+            Long id = employeeRepository.save(employee).getId();
+            if (i < MANAGERS) {
+                managerIds.add(id);
+            }
+        }
+        employeeSearchIndex.rebuild();
+    }
+
+    @Test
+    void serviceListsUseConstantStatements() {
+        assertStatements(() -> employeeService.getAllEmployees());
+        assertStatements(() -> employeeService.getEmployeesByDepartment("IT"));
+        assertStatements(() -> employeeService.getEmployeesByStatus("ACTIVE"));
+        assertStatements(() -> employeeService.searchEmployees("Query", 50));
+    }
+
+    // The filter turns a budget overrun into an exception, so a 1+N regression fails these requests
+    @Test
+    void endpointsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(EMPLOYEES));
+        mockMvc.perform(get("/api/employees/department/IT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(EMPLOYEES));
+        mockMvc.perform(get("/api/employees/status/ACTIVE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(EMPLOYEES));
+        mockMvc.perform(get("/api/employees/search").param("keyword", "Query"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(EMPLOYEES));
+    }
+
+    private static void assertStatements(Supplier<List<EmployeeResponseDTO>> call) {
+        QueryCountInspector.begin(Integer.MAX_VALUE, false);
+        List<EmployeeResponseDTO> result;
+        int statements;
+        try {
+            result = call.get();
+        } finally {
+            statements = QueryCountInspector.end();
+        }
+        assertThat(result).hasSize(EMPLOYEES);
+        assertThat(result).filteredOn(employee -> employee.getManagerName() != null).hasSize(EMPLOYEES - MANAGERS);
+        // employees + users in one select, roles in one subselect, manager names in one IN query
+        assertThat(statements).isLessThanOrEqualTo(3);
+    }
+}
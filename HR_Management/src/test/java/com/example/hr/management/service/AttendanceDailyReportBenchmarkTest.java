@@ -0,0 +1,151 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.config.QueryCountInspector;
+import com.example.hr.management.dto.AttendanceResponseDTO;
+import com.example.hr.management.entity.Attendance;
+import com.example.hr.management.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Company-wide daily report through the slim projection versus the full Attendance + Employee
+ * entity load it replaced, on a seeded dataset. Logs rows, bytes read from the database per
+ * shape, JSON size and median latency; asserts only the non-flaky parts (one statement, fewer
+ * bytes). Scale it with -Dhr.benchmark.employees=20000 for numbers worth quoting.
+ */
+@SpringBootTest
+class AttendanceDailyReportBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceDailyReportBenchmarkTest.class);
+
+    private static final int EMPLOYEES = Integer.getInteger("hr.benchmark.employees", 2000);
+    private static final int WARMUP = 3;
+    private static final int RUNS = 10;
+    private static final LocalDate REPORT_DATE = LocalDate.of(2001, 3, 5);
+    private static final String CODE_PREFIX = "BM";
+
+    private static final String FULL_ROW_BYTES_SQL = "SELECT COALESCE(SUM(pg_column_size(a.*) + " +
+            "pg_column_size(e.*)), 0) FROM attendance a JOIN employees e ON e.id = a.employee_id " +
+            "WHERE a.attendance_date = ?";
+
+    private static final String VIEW_ROW_BYTES_SQL = "SELECT COALESCE(SUM(pg_column_size(ROW(a.id, e.id, " +
+            "e.first_name, e.last_name, e.employee_code, a.attendance_date, a.clock_in_time, a.clock_out_time, " +
+            "a.status, a.remarks, a.working_hours, a.is_late, a.late_minutes, a.created_at, a.updated_at))), 0) " +
+            "FROM attendance a JOIN employees e ON e.id = a.employee_id WHERE a.attendance_date = ?";
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Employees carry realistic address and bank data, which the entity load reads and the projection skips
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO employees (employee_code, first_name, last_name, email, phone_number, " +
+                        "gender, address, city, state, postal_code, country, department, designation, uan_no, pf_no, " +
+                        "esi_no, pan_no, bank_name, bank_account_no, ifsc_code, joining_date, employment_type, " +
+                        "employment_status, basic_salary, created_at, updated_at) " +
+                        "SELECT ? || n, 'First' || n, 'Last' || n, 'bm' || n || '@example.com', '98765' || lpad(CAST(n AS text), 5, '0'), " +
+                        "'OTHER', repeat('Street ' || n || ', ', 12), 'City', 'State', '560001', 'India', 'ENG', 'Engineer', " +
+                        "'UAN' || n, 'PF' || n, 'ESI' || n, 'PAN' || n, 'Bank of Example', '0000' || n, 'EXMP0001', " +
+                        "DATE '2000-01-01', 'FULL_TIME', 'ACTIVE', 50000, LOCALTIMESTAMP, LOCALTIMESTAMP " +
+                        "FROM generate_series(1, ?) AS n",
+                CODE_PREFIX, EMPLOYEES);
+        jdbcTemplate.update("INSERT INTO attendance (employee_id, attendance_date, clock_in_time, clock_out_time, " +
+                        "status, working_hours, is_late, late_minutes, created_at, updated_at) " +
+                        "SELECT e.id, ?, TIME '09:05', TIME '17:35', 'PRESENT', 8.5, e.id % 7 = 0, " +
+                        "CASE WHEN e.id % 7 = 0 THEN 5 END, LOCALTIMESTAMP, LOCALTIMESTAMP " +
+                        "FROM employees e WHERE e.employee_code LIKE ?",
+                Date.valueOf(REPORT_DATE), CODE_PREFIX + "%");
+        jdbcTemplate.execute("ANALYZE attendance");
+        jdbcTemplate.execute("ANALYZE employees");
+    }
+
+    @AfterEach
+    void removeSeed() {
+        jdbcTemplate.update("DELETE FROM attendance WHERE attendance_date = ?", Date.valueOf(REPORT_DATE));
+        jdbcTemplate.update("DELETE FROM employees WHERE employee_code LIKE ?", CODE_PREFIX + "%");
+    }
+
+    @Test
+    void companyWideDailyReport() throws Exception {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<Integer> viewPath = () -> readOnly.execute(status ->
+                attendanceService.getAttendanceByDate(REPORT_DATE).size());
+        Supplier<Integer> entityPath = () -> readOnly.execute(status -> entityManager
+                .createQuery("SELECT a FROM Attendance a JOIN FETCH a.employee WHERE a.attendanceDate = :date",
+                        Attendance.class)
+                .setParameter("date", REPORT_DATE)
+                .getResultList()
+                .size());
+
+        QueryCountInspector.begin(Integer.MAX_VALUE, false);
+        int rows;
+        int statements;
+        try {
+            rows = viewPath.get();
+        } finally {
+            statements = QueryCountInspector.end();
+        }
+        assertThat(rows).isEqualTo(EMPLOYEES);
+        assertThat(statements).isEqualTo(1);
+        assertThat(entityPath.get()).isEqualTo(EMPLOYEES);
+
+        long viewBytes = jdbcTemplate.queryForObject(VIEW_ROW_BYTES_SQL, Long.class, Date.valueOf(REPORT_DATE));
+        long entityBytes = jdbcTemplate.queryForObject(FULL_ROW_BYTES_SQL, Long.class, Date.valueOf(REPORT_DATE));
+        List<AttendanceResponseDTO> report = attendanceService.getAttendanceByDate(REPORT_DATE);
+        int jsonBytes = objectMapper.writeValueAsBytes(report).length;
+
+        double viewMillis = medianMillis(viewPath);
+        double entityMillis = medianMillis(entityPath);
+
+        log.info("Daily report, {} rows: projection {} DB bytes, {} ms median; entity load {} DB bytes, {} ms median; "
+                        + "response {} JSON bytes", rows, viewBytes, String.format("%.1f", viewMillis), entityBytes,
+                String.format("%.1f", entityMillis), jsonBytes);
+        assertThat(viewBytes).isLessThan(entityBytes);
+    }
+
+    private static double medianMillis(Supplier<Integer> path) {
+        for (int i = 0; i < WARMUP; i++) {
+            path.get();
+        }
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            path.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2] / 1_000_000.0;
+    }
+}
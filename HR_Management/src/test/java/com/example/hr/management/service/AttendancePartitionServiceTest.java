@@ -0,0 +1,127 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.entity.Employee;
+import com.example.hr.management.repository.EmployeeRepository;
+import com.example.hr.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Converting a populated table in place, with two callers racing as two instances would at startup
+@SpringBootTest
+class AttendancePartitionServiceTest extends PostgresIntegrationTest {
+
+    private static final int DAYS_BACK = 100;
+    private static final int DAYS_AHEAD = 30;
+
+    @Autowired
+    private AttendancePartitionService attendancePartitionService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long employeeId;
+
+    // The context converted the empty table at startup; put back what Hibernate creates on a fresh schema
+    @BeforeEach
+    void createPopulatedOrdinaryTable() {
+        jdbcTemplate.execute("DROP TABLE attendance CASCADE");
+        jdbcTemplate.execute("CREATE TABLE attendance (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "employee_id BIGINT NOT NULL REFERENCES employees (id), attendance_date DATE NOT NULL, " +
+                "clock_in_time TIME, clock_out_time TIME, status VARCHAR(20) NOT NULL, remarks VARCHAR(500), " +
+                "working_hours FLOAT8, is_late BOOLEAN NOT NULL, late_minutes INTEGER, " +
+                "created_at TIMESTAMP(6) NOT NULL, updated_at TIMESTAMP(6) NOT NULL, " +
+                "CONSTRAINT unique_emp_date UNIQUE (employee_id, attendance_date))");
+        jdbcTemplate.execute("CREATE INDEX idx_attendance_date ON attendance (attendance_date)");
+
+        Employee employee = new Employee();
+        employee.setEmployeeCode("PART1");
+        employee.setFirstName("Partition");
+        employee.setLastName("Test");
+        employee.setEmail("partition-test@example.com");
+        employee.setDepartment("OPS");
+        employee.setEmploymentStatus("ACTIVE");
+        employeeId = employeeRepository.save(employee).getId();
+
+        // Rows ahead of the current month land in DEFAULT and have to be moved out afterwards
+        LocalDate today = LocalDate.now();
+        jdbcTemplate.update("INSERT INTO attendance (employee_id, attendance_date, status, is_late, created_at, updated_at) " +
+                        "SELECT ?, CAST(d AS DATE), 'PRESENT', false, LOCALTIMESTAMP, LOCALTIMESTAMP " +
+                        "FROM generate_series(CAST(? AS DATE), CAST(? AS DATE), INTERVAL '1 day') AS d",
+                employeeId, Date.valueOf(today.minusDays(DAYS_BACK)), Date.valueOf(today.plusDays(DAYS_AHEAD)));
+    }
+
+    @AfterEach
+    void removeRows() {
+        jdbcTemplate.update("DELETE FROM attendance WHERE employee_id = ?", employeeId);
+        jdbcTemplate.update("DELETE FROM employees WHERE id = ?", employeeId);
+    }
+
+    @Test
+    void convertsPopulatedTableOnceUnderConcurrentCallers() throws Exception {
+        long rowsBefore = queryLong("SELECT COUNT(*) FROM attendance");
+        long maxIdBefore = queryLong("SELECT MAX(id) FROM attendance");
+        assertThat(rowsBefore).isEqualTo(DAYS_BACK + DAYS_AHEAD + 1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> runs = List.of(
+                    callers.submit(attendancePartitionService::ensurePartitions),
+                    callers.submit(attendancePartitionService::ensurePartitions));
+            for (Future<?> run : runs) {
+                run.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT relkind::text FROM pg_class WHERE oid = CAST('attendance' AS regclass)",
+                String.class)).isEqualTo("p");
+        assertThat(queryLong("SELECT COUNT(*) FROM attendance")).isEqualTo(rowsBefore);
+        assertThat(queryLong("SELECT COUNT(*) FROM attendance_default")).isZero();
+
+        assertThat(constraintDefinition("p")).containsExactly("PRIMARY KEY (id, attendance_date)");
+        assertThat(jdbcTemplate.queryForObject("SELECT pg_get_constraintdef(oid) FROM pg_constraint " +
+                        "WHERE conrelid = CAST('attendance' AS regclass) AND conname = 'unique_emp_date'", String.class))
+                .isEqualTo("UNIQUE (employee_id, attendance_date)");
+        assertThatThrownBy(() -> insertRow(LocalDate.now())).isInstanceOf(DuplicateKeyException.class);
+
+        // The id sequence survives the old table and continues after the copied rows
+        Long newId = insertRow(LocalDate.now().plusDays(DAYS_AHEAD + 1));
+        assertThat(newId).isGreaterThan(maxIdBefore);
+    }
+
+    private Long insertRow(LocalDate date) {
+        return jdbcTemplate.queryForObject("INSERT INTO attendance (employee_id, attendance_date, status, is_late, " +
+                "created_at, updated_at) VALUES (?, ?, 'PRESENT', false, LOCALTIMESTAMP, LOCALTIMESTAMP) RETURNING id",
+                Long.class, employeeId, Date.valueOf(date));
+    }
+
+    private List<String> constraintDefinition(String type) {
+        return jdbcTemplate.queryForList("SELECT pg_get_constraintdef(oid) FROM pg_constraint " +
+                "WHERE conrelid = CAST('attendance' AS regclass) AND contype = ?", String.class, type);
+    }
+
+    private long queryLong(String sql) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.AttendanceResponseDTO;
+import com.example.hr.management.entity.Employee;
+import com.example.hr.management.repository.EmployeeRepository;
+import com.example.hr.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// A night shift clocked out after midnight closes the row it was clocked in on
+@SpringBootTest
+class ClockEventIngestorTest extends PostgresIntegrationTest {
+
+    private static final LocalDate SHIFT_DATE = LocalDate.of(2001, 3, 5);
+
+    @Autowired
+    private ClockEventIngestor clockEventIngestor;
+
+    @Autowired
+    private ShiftScheduleIndex shiftScheduleIndex;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long employeeId;
+    private Long shiftId;
+
+    @BeforeEach
+    void rosterOnNights() {
+        Employee employee = new Employee();
+        employee.setEmployeeCode("NIGHT1");
+        employee.setFirstName("Night");
+        employee.setLastName("Shift");
+        employee.setEmail("night-shift@example.com");
+        employee.setDepartment("OPS");
+        employee.setEmploymentStatus("ACTIVE");
+        employeeId = employeeRepository.save(employee).getId();
+
+        shiftId = jdbcTemplate.queryForObject("INSERT INTO shifts (name, start_time, end_time, grace_minutes, " +
+                "created_at, updated_at) VALUES ('TEST_NIGHT', TIME '22:00', TIME '06:00', 0, LOCALTIMESTAMP, " +
+                "LOCALTIMESTAMP) RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO shift_assignments (employee_id, rotation, effective_from, created_at, " +
+                "updated_at) VALUES (?, ?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP)",
+                employeeId, String.valueOf(shiftId), Date.valueOf(SHIFT_DATE.minusDays(7)));
+        shiftScheduleIndex.rebuild();
+    }
+
+    @AfterEach
+    void removeRoster() {
+        jdbcTemplate.update("DELETE FROM attendance WHERE employee_id = ?", employeeId);
+        jdbcTemplate.update("DELETE FROM shift_assignments WHERE employee_id = ?", employeeId);
+        jdbcTemplate.update("DELETE FROM shifts WHERE id = ?", shiftId);
+        jdbcTemplate.update("DELETE FROM employees WHERE id = ?", employeeId);
+        shiftScheduleIndex.rebuild();
+    }
+
+    @Test
+    void clockOutAfterMidnightClosesLastNightsRow() {
+        AttendanceResponseDTO in = clockEventIngestor.clockIn(employeeId, SHIFT_DATE.atTime(22, 0));
+        assertThat(in.getAttendanceDate()).isEqualTo(SHIFT_DATE);
+        assertThat(in.getIsLate()).isFalse();
+
+        AttendanceResponseDTO out = clockEventIngestor.clockOut(employeeId, SHIFT_DATE.plusDays(1).atTime(6, 0));
+        assertThat(out.getId()).isEqualTo(in.getId());
+        assertThat(out.getAttendanceDate()).isEqualTo(SHIFT_DATE);
+        assertThat(out.getClockOutTime()).isEqualTo(LocalTime.of(6, 0));
+        assertThat(out.getWorkingHours()).isEqualTo(8.0);
+
+        Long rowsNextDay = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance " +
+                "WHERE employee_id = ? AND attendance_date = ?", Long.class, employeeId,
+                Date.valueOf(SHIFT_DATE.plusDays(1)));
+        assertThat(rowsNextDay).isZero();
+    }
+
+    @Test
+    void secondClockOutAfterMidnightIsRejected() {
+        clockEventIngestor.clockIn(employeeId, SHIFT_DATE.atTime(22, 0));
+        clockEventIngestor.clockOut(employeeId, SHIFT_DATE.plusDays(1).atTime(6, 0));
+
+        LocalDateTime again = SHIFT_DATE.plusDays(1).atTime(6, 5);
+        assertThatThrownBy(() -> clockEventIngestor.clockOut(employeeId, again))
+                .hasMessage("Employee already clocked out of last night's shift");
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.hr.management.service;
+
+import com.example.hr.management.dto.EmployeeRequestDTO;
+import com.example.hr.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Creates racing a rebuild must be counted once, whichever side of the rebuild's snapshot they commit on
+@SpringBootTest
+class HeadcountRegistryTest extends PostgresIntegrationTest {
+
+    private static final String DEPARTMENT = "HC_RACE";
+    private static final int CREATES = 40;
+
+    @Autowired
+    private HeadcountRegistry headcountRegistry;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void removeEmployees() {
+        jdbcTemplate.update("DELETE FROM employees WHERE department = ?", DEPARTMENT);
+        headcountRegistry.rebuild();
+    }
+
+    // Committed before the rebuild's query, adjusted after it: the rebuild already counted it
+    @Test
+    void lateAdjustForWriteSeenByRebuildIsDropped() {
+        long transactionId = new TransactionTemplate(transactionManager).execute(status -> {
+            insertEmployee("HC-LATE");
+            return headcountRegistry.transactionId();
+        });
+        headcountRegistry.rebuild();
+        headcountRegistry.created(transactionId, DEPARTMENT, "ACTIVE");
+
+        assertThat(headcountRegistry.countByDepartment(DEPARTMENT)).isEqualTo(1);
+    }
+
+    // In flight while the rebuild's query runs, adjusted after: the rebuild could not see it
+    @Test
+    void adjustForWriteCommittedAfterSnapshotIsApplied() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> write = writer.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                insertEmployee("HC-OPEN");
+                long transactionId = headcountRegistry.transactionId();
+                inserted.countDown();
+                await(rebuilt);
+                return transactionId;
+            }));
+            assertThat(inserted.await(30, TimeUnit.SECONDS)).isTrue();
+            headcountRegistry.rebuild();
+            rebuilt.countDown();
+            headcountRegistry.created(write.get(30, TimeUnit.SECONDS), DEPARTMENT, "ACTIVE");
+        } finally {
+            writer.shutdownNow();
+        }
+
+        assertThat(headcountRegistry.countByDepartment(DEPARTMENT)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentCreatesAndRebuildsMatchTheDatabase() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            CompletableFuture<?>[] creates = new CompletableFuture<?>[CREATES];
+            for (int i = 0; i < CREATES; i++) {
+                EmployeeRequestDTO dto = request("HC-" + i);
+                creates[i] = CompletableFuture.runAsync(() -> employeeService.createEmployee(dto), pool);
+            }
+            CompletableFuture<Void> allCreated = CompletableFuture.allOf(creates);
+            while (!allCreated.isDone()) {
+                headcountRegistry.rebuild();
+            }
+            allCreated.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Long inDatabase = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employees WHERE department = ? AND deleted_at IS NULL", Long.class, DEPARTMENT);
+        assertThat(inDatabase).isEqualTo(CREATES);
+        assertThat(headcountRegistry.countByDepartment(DEPARTMENT)).isEqualTo(CREATES);
+    }
+
+    private void insertEmployee(String code) {
+        jdbcTemplate.update("INSERT INTO employees (employee_code, first_name, last_name, email, department, " +
+                        "employment_status, created_at, updated_at) VALUES (?, 'Head', 'Count', ?, ?, 'ACTIVE', " +
+                        "LOCALTIMESTAMP, LOCALTIMESTAMP)",
+                code, code.toLowerCase() + "@example.com", DEPARTMENT);
+    }
+
+    private static EmployeeRequestDTO request(String code) {
+        EmployeeRequestDTO dto = new EmployeeRequestDTO();
+        dto.setEmployeeCode(code);
+        dto.setFirstName("Head");
+        dto.setLastName("Count");
+        dto.setEmail(code.toLowerCase() + "@example.com");
+        dto.setDepartment(DEPARTMENT);
+        dto.setDesignation("Engineer");
+        dto.setJoiningDate(LocalDate.of(2020, 1, 1));
+        return dto;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+import React, { useEffect, useState } from 'react';
+import api, { resolveAssetUrl } from '../services/api';
+
+// Server images need the bearer token, which a plain <img src> cannot send; data: URLs render as-is
+const AuthImage = ({ src, alt, ...props }) => {
+    const [objectUrl, setObjectUrl] = useState(null);
+    const isServerPath = Boolean(src && src.startsWith('/'));
+
+    useEffect(() => {
+        if (!isServerPath) return undefined;
+        let cancelled = false;
+        let url = null;
+        api.get(resolveAssetUrl(src), { responseType: 'blob' })
+            .then((response) => {
+                if (cancelled) return;
+                url = URL.createObjectURL(response.data);
+                setObjectUrl(url);
+            })
+            .catch((error) => console.error('Failed to load image', error));
+        return () => {
+            cancelled = true;
+            if (url) URL.revokeObjectURL(url);
+            setObjectUrl(null);
+        };
+    }, [src, isServerPath]);
+
+    const resolved = isServerPath ? objectUrl : src;
+    return resolved ? <img src={resolved} alt={alt} {...props} /> : null;
+};
+
+export default AuthImage;
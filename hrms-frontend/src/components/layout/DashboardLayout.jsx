@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { Outlet, Link, useNavigate, useLocation } from 'react-router-dom';
 import { useAuth } from '../../context/AuthContext';
 import { employeeAPI } from '../../services/api';
+import AuthImage from '../AuthImage';
 import {
     LayoutDashboard,
     UserPlus,
@@ -104,7 +105,7 @@ const DashboardLayout = () => {
                                 </div>
                                 <div className="w-10 h-10 rounded-full bg-gradient-to-br from-blue-100 to-blue-50 flex items-center justify-center overflow-hidden ring-2 ring-blue-100">
                                     {profileImage ? (
-                                        <img src={profileImage} alt={user?.username} className="w-full h-full object-cover" />
+                                        <AuthImage src={profileImage} alt={user?.username} className="w-full h-full object-cover" />
                                     ) : (
                                         <span className="text-blue-600 font-semibold text-sm">
                                             {user?.username?.charAt(0).toUpperCase()}
@@ -1,6 +1,7 @@
 // src/pages/ApproveLeavesPage.jsx
 import React, { useState, useEffect } from 'react';
 import { leaveService } from '../services/leaveService';
+import AuthImage from '../components/AuthImage';
 import LeaveStatusBadge from '../components/LeaveStatusBadge';
 import { toast } from 'react-toastify';
 import { useAuth } from '../context/AuthContext';
@@ -132,7 +133,7 @@ const ApproveLeavesPage = () => {
                                     <div className="flex justify-between items-start mb-4">
                                         <div className="flex items-center gap-3">
                                             {leave.employeeProfileImage ? (
-                                                <img
+                                                <AuthImage
                                                     src={leave.employeeProfileImage}
                                                     alt={leave.employeeName}
                                                     className="w-10 h-10 rounded-full object-cover"
@@ -64,6 +64,21 @@ const AttendanceList = () => {
         }
     }, [isAdmin, isHR, isEmployee, currentEmployeeId]);
 
+    // Admin/HR today view follows the live board instead of polling the whole day
+    useEffect(() => {
+        if (!(isAdmin || isHR) || selectedEmployee) return undefined;
+        const today = new Date().toISOString().split('T')[0];
+        return attendanceAPI.subscribeLive(today, (event, data) => {
+            if (event === 'snapshot') {
+                setAttendanceRecords(Array.isArray(data) ? data : []);
+            } else if (event === 'upsert') {
+                setAttendanceRecords((prev) => [data, ...prev.filter((record) => record.id !== data.id)]);
+            } else if (event === 'remove') {
+                setAttendanceRecords((prev) => prev.filter((record) => record.id !== data.id));
+            }
+        });
+    }, [isAdmin, isHR, selectedEmployee]);
+
     useEffect(() => {
         if (selectedEmployee) {
             console.log('📍 Fetching monthly attendance for employee:', selectedEmployee);
@@ -74,7 +89,7 @@ const AttendanceList = () => {
     const fetchEmployees = async () => {
         try {
             console.log('🔄 Fetching employees...');
-            const response = await employeeAPI.getAll();
+            const response = await employeeAPI.getSummaries();
             setEmployees(response.data || []);
             console.log('✅ Employees loaded:', response.data?.length);
         } catch (error) {
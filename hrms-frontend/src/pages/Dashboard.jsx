@@ -31,7 +31,7 @@ const Dashboard = () => {
                 // Fetch Employees first (Reliable)
                 let allEmployees = [];
                 try {
-                    const employeesRes = await employeeAPI.getAll();
+                    const employeesRes = await employeeAPI.getSummaries();
                     allEmployees = employeesRes.data || [];
                 } catch (empErr) {
                     console.error("Error fetching employees:", empErr);
@@ -52,7 +52,7 @@ const EmployeeList = () => {
         try {
             setLoading(true);
             const [empResponse, userResponse] = await Promise.all([
-                employeeAPI.getAll(),
+                employeeAPI.getSummaries(),
                 userAPI.getAll()
             ]);
 
@@ -19,7 +19,7 @@ const PayrollPage = () => {
 
     const fetchEmployees = async () => {
         try {
-            const response = await employeeAPI.getAll();
+            const response = await employeeAPI.getSummaries();
             if (response.data) {
                 setEmployees(response.data); // api.js returns data directly or wrapped, checking structure
             }
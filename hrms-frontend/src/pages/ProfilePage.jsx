@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { useAuth } from '../context/AuthContext';
 import { employeeAPI } from '../services/api';
+import AuthImage from '../components/AuthImage';
 import { User, Mail, Phone, MapPin, Briefcase, Calendar, Shield, CreditCard, Edit3, Save, Camera } from 'lucide-react';
 import { toast } from 'react-toastify';
 
@@ -219,7 +220,7 @@ const ProfilePage = () => {
                         <div className="relative group">
                             <div className="w-32 h-32 rounded-2xl bg-white p-1 shadow-lg border-4 border-white">
                                 {employee?.profileImage ? (
-                                    <img
+                                    <AuthImage
                                         src={employee.profileImage}
                                         alt={`${employee.firstName} ${employee.lastName}`}
                                         className="w-full h-full rounded-xl object-cover"
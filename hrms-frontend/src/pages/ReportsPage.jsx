@@ -20,7 +20,7 @@ const ReportsPage = () => {
         try {
             const today = new Date().toISOString().split('T')[0];
             const [allEmp, activeCount, todayAtt] = await Promise.all([
-                employeeAPI.getAll(),
+                employeeAPI.getSummaries(),
                 employeeAPI.getActiveCount(),
                 attendanceAPI.getByDate(today)
             ]);
@@ -1,6 +1,10 @@
 import axios from 'axios';
 
-const API_BASE_URL = 'http://localhost:9090/api';
+const SERVER_BASE_URL = 'http://localhost:9090';
+const API_BASE_URL = `${SERVER_BASE_URL}/api`;
+
+// Profile images come back as server-relative URLs
+export const resolveAssetUrl = (path) => (path && path.startsWith('/') ? `${SERVER_BASE_URL}${path}` : path);
 
 const api = axios.create({
     baseURL: API_BASE_URL,
@@ -32,10 +36,16 @@ export const authAPI = {
 // Employee APIs
 export const employeeAPI = {
     getAll: () => api.get('/employees'),
+    getSummaries: (params) => api.get('/employees/summary', { params }),
     getById: (id) => api.get(`/employees/${id}`),
     getByUserId: (userId) => api.get(`/employees/user/${userId}`),
     getByCode: (code) => api.get(`/employees/code/${code}`),
     create: (data) => api.post('/employees', data),
+    bulkImport: (file) => {
+        const formData = new FormData();
+        formData.append('file', file);
+        return api.post('/employees/bulk', formData, { headers: { 'Content-Type': 'multipart/form-data' } });
+    },
     update: (id, data) => api.put(`/employees/${id}`, data),
     updateProfile: (id, data) => api.put(`/employees/${id}/profile`, data),
     uploadProfileImage: (id, base64Image) => api.post(`/employees/${id}/profile-image`, { profileImage: base64Image }),
@@ -81,6 +91,50 @@ export const attendanceAPI = {
             params: { startDate, endDate }
         }),
     deleteAttendance: (id) => api.delete(`/attendance/${id}`),
+    // Live board for a day: onEvent('snapshot' | 'upsert' | 'remove', data). Returns an unsubscribe function.
+    subscribeLive: (date, onEvent) => subscribeEventStream(`/attendance/live?date=${date}`, onEvent),
+};
+
+// Server-Sent Events over fetch, since EventSource cannot send the Authorization header
+const subscribeEventStream = (path, onEvent) => {
+    const controller = new AbortController();
+    const token = localStorage.getItem('token');
+    fetch(`${API_BASE_URL}${path}`, {
+        headers: {
+            Accept: 'text/event-stream',
+            ...(token ? { Authorization: `Bearer ${token}` } : {}),
+        },
+        signal: controller.signal,
+    })
+        .then(async (response) => {
+            if (!response.ok) {
+                throw new Error(`Event stream failed with status ${response.status}`);
+            }
+            const reader = response.body.getReader();
+            const decoder = new TextDecoder();
+            let buffer = '';
+            for (;;) {
+                const { done, value } = await reader.read();
+                if (done) break;
+                buffer += decoder.decode(value, { stream: true });
+                let end;
+                while ((end = buffer.indexOf('\n\n')) >= 0) {
+                    const block = buffer.slice(0, end);
+                    buffer = buffer.slice(end + 2);
+                    let name = 'message';
+                    const data = [];
+                    block.split('\n').forEach((line) => {
+                        if (line.startsWith('event:')) name = line.slice(6).trim();
+                        else if (line.startsWith('data:')) data.push(line.slice(5).replace(/^ /, ''));
+                    });
+                    if (data.length) onEvent(name, JSON.parse(data.join('\n')));
+                }
+            }
+        })
+        .catch((error) => {
+            if (error.name !== 'AbortError') console.error('Event stream error:', error);
+        });
+    return () => controller.abort();
 };
 
 // Leave Type APIs